@@ -15,6 +15,112 @@ import androidx.annotation.Nullable;
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class AppState {
 
+	/**
+	 * Availability of the app.
+	 * @see #isAvailable()
+	 */
+	public static final int FIELD_AVAILABLE = 1;
+	/**
+	 * Initialization state.
+	 * @see #isInitializing()
+	 */
+	public static final int FIELD_INITIALIZING = 1 << 1;
+	/**
+	 * Custom build flag.
+	 * @see #isCustomBuild()
+	 */
+	public static final int FIELD_CUSTOM_BUILD = 1 << 2;
+	/**
+	 * Configuration state.
+	 * @see #isConfiguring()
+	 */
+	public static final int FIELD_CONFIGURING = 1 << 3;
+	/**
+	 * Lock state.
+	 * @see #isLocked()
+	 */
+	public static final int FIELD_LOCKED = 1 << 4;
+	/**
+	 * Signed in state.
+	 * @see #isSignedIn()
+	 */
+	public static final int FIELD_SIGNED_IN = 1 << 5;
+	/**
+	 * Signing in state.
+	 * @see #isSigningIn()
+	 */
+	public static final int FIELD_SIGNING_IN = 1 << 6;
+	/**
+	 * Signing out state.
+	 * @see #isSigningOut()
+	 */
+	public static final int FIELD_SIGNING_OUT = 1 << 7;
+	/**
+	 * Sign in cancellation state.
+	 * @see #isCancellingSignin()
+	 */
+	public static final int FIELD_CANCELLING_SIGNIN = 1 << 8;
+	/**
+	 * Reconnect timer.
+	 * @see #getReconnectTimer()
+	 */
+	public static final int FIELD_RECONNECT_TIMER = 1 << 9;
+	/**
+	 * Waiting for network state.
+	 * @see #isWaitingForNetwork()
+	 */
+	public static final int FIELD_WAITING_FOR_NETWORK = 1 << 10;
+	/**
+	 * Contacts visibility.
+	 * @see #getShowContacts()
+	 */
+	public static final int FIELD_SHOW_CONTACTS = 1 << 11;
+	/**
+	 * User status.
+	 * @see #getStatus()
+	 */
+	public static final int FIELD_STATUS = 1 << 12;
+	/**
+	 * Auto run setting.
+	 * @see #isAutoRunEnabled()
+	 */
+	public static final int FIELD_AUTO_RUN = 1 << 13;
+	/**
+	 * Channel auto connect setting.
+	 * @see #isChannelAutoConnectEnabled()
+	 */
+	public static final int FIELD_AUTO_CHANNELS = 1 << 14;
+	/**
+	 * Last error.
+	 * @see #getLastError()
+	 */
+	public static final int FIELD_LAST_ERROR = 1 << 15;
+	/**
+	 * Status message.
+	 * @see #getStatusMessage()
+	 */
+	public static final int FIELD_STATUS_MESSAGE = 1 << 16;
+	/**
+	 * Network name.
+	 * @see #getNetwork()
+	 */
+	public static final int FIELD_NETWORK = 1 << 17;
+	/**
+	 * Network URL.
+	 * @see #getNetworkUrl()
+	 */
+	public static final int FIELD_NETWORK_URL = 1 << 18;
+	/**
+	 * Username.
+	 * @see #getUsername()
+	 */
+	public static final int FIELD_USERNAME = 1 << 19;
+	/**
+	 * External id.
+	 * @see #getExternalId()
+	 */
+	public static final int FIELD_EXTERNAL_ID = 1 << 20;
+
 	//region Package Private Variables
 
 	boolean _available;
@@ -81,6 +187,85 @@ public class AppState {
 		return state;
 	}
 
+	/**
+	 * <p>
+	 *     Compares this <code>AppState</code> to another one and returns the fields that differ.
+	 * </p>
+	 * @param state Nullable; the state to compare to. All fields are reported as changed if the value is <code>null</code>.
+	 * @return Combination of <code>FIELD_*</code> flags; <code>0</code> if the states are the same.
+	 * @see AppStateChangeListener
+	 */
+	public int getChangedFields(@Nullable AppState state) {
+		if (state == null) {
+			return (1 << 21) - 1;
+		}
+		int fields = 0;
+		if (isAvailable() != state.isAvailable()) {
+			fields |= FIELD_AVAILABLE;
+		}
+		if (_initializing != state._initializing) {
+			fields |= FIELD_INITIALIZING;
+		}
+		if (_customBuild != state._customBuild) {
+			fields |= FIELD_CUSTOM_BUILD;
+		}
+		if (_configuring != state._configuring) {
+			fields |= FIELD_CONFIGURING;
+		}
+		if (_locked != state._locked) {
+			fields |= FIELD_LOCKED;
+		}
+		if (_signedIn != state._signedIn) {
+			fields |= FIELD_SIGNED_IN;
+		}
+		if (_signingIn != state._signingIn) {
+			fields |= FIELD_SIGNING_IN;
+		}
+		if (_signingOut != state._signingOut) {
+			fields |= FIELD_SIGNING_OUT;
+		}
+		if (_cancelling != state._cancelling) {
+			fields |= FIELD_CANCELLING_SIGNIN;
+		}
+		if (_reconnectTimer != state._reconnectTimer) {
+			fields |= FIELD_RECONNECT_TIMER;
+		}
+		if (_waitingForNetwork != state._waitingForNetwork) {
+			fields |= FIELD_WAITING_FOR_NETWORK;
+		}
+		if (_showContacts != state._showContacts) {
+			fields |= FIELD_SHOW_CONTACTS;
+		}
+		if (getStatus() != state.getStatus()) {
+			fields |= FIELD_STATUS;
+		}
+		if (_autoRun != state._autoRun) {
+			fields |= FIELD_AUTO_RUN;
+		}
+		if (_autoChannels != state._autoChannels) {
+			fields |= FIELD_AUTO_CHANNELS;
+		}
+		if (_lastError != state._lastError) {
+			fields |= FIELD_LAST_ERROR;
+		}
+		if (!equals(_statusMessage, state._statusMessage)) {
+			fields |= FIELD_STATUS_MESSAGE;
+		}
+		if (!equals(_network, state._network)) {
+			fields |= FIELD_NETWORK;
+		}
+		if (!equals(_networkUrl, state._networkUrl)) {
+			fields |= FIELD_NETWORK_URL;
+		}
+		if (!equals(_username, state._username)) {
+			fields |= FIELD_USERNAME;
+		}
+		if (!equals(_externalId, state._externalId)) {
+			fields |= FIELD_EXTERNAL_ID;
+		}
+		return fields;
+	}
+
 	//region Public State Methods
 
 	/**
@@ -345,6 +530,31 @@ public class AppState {
 
 	//region Package Private Methods
 
+	/**
+	 * Get the states that are on.
+	 *
+	 * @return Combination of <code>FIELD_*</code> flags
+	 */
+	int getFlags() {
+		int flags = 0;
+		flags |= _available ? FIELD_AVAILABLE : 0;
+		flags |= _initializing ? FIELD_INITIALIZING : 0;
+		flags |= _customBuild ? FIELD_CUSTOM_BUILD : 0;
+		flags |= _configuring ? FIELD_CONFIGURING : 0;
+		flags |= _locked ? FIELD_LOCKED : 0;
+		flags |= _signedIn ? FIELD_SIGNED_IN : 0;
+		flags |= _signingIn ? FIELD_SIGNING_IN : 0;
+		flags |= _signingOut ? FIELD_SIGNING_OUT : 0;
+		flags |= _cancelling ? FIELD_CANCELLING_SIGNIN : 0;
+		flags |= _reconnectTimer >= 0 ? FIELD_RECONNECT_TIMER : 0;
+		flags |= _waitingForNetwork ? FIELD_WAITING_FOR_NETWORK : 0;
+		flags |= _showContacts ? FIELD_SHOW_CONTACTS : 0;
+		flags |= _busy || _solo ? FIELD_STATUS : 0;
+		flags |= _autoRun ? FIELD_AUTO_RUN : 0;
+		flags |= _autoChannels ? FIELD_AUTO_CHANNELS : 0;
+		return flags;
+	}
+
 	void copyTo(AppState state) {
 		if (state == null) {
 			return;
@@ -358,6 +568,7 @@ public class AppState {
 		state._signedIn = _signedIn;
 		state._signingIn = _signingIn;
 		state._signingOut = _signingOut;
+		state._cancelling = _cancelling;
 		state._reconnectTimer = _reconnectTimer;
 		state._waitingForNetwork = _waitingForNetwork;
 		state._showContacts = _showContacts;
@@ -375,4 +586,12 @@ public class AppState {
 
 	//endregion
 
+	//region Private Methods
+
+	private static boolean equals(@Nullable String a, @Nullable String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	//endregion
+
 }
@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+/**
+ * The <code>AppStateChangeListener</code> interface receives notifications about changes of the ZelloWork app state
+ * together with the list of fields that changed.
+ * @see Zello#subscribeToAppStateChanges(AppStateChangeListener)
+ */
+@SuppressWarnings("unused")
+public interface AppStateChangeListener {
+
+	/**
+	 * <p>
+	 * Called when one or more fields of the {@link AppState} change.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread. It is not called when the ZelloWork app reports a state that is
+	 * the same as the previous one. Check the flags to decide whether the change is relevant, and call
+	 * {@link Zello#getAppState(AppState)} only when it is.
+	 * </p>
+	 *
+	 * @param changedFields Combination of <code>AppState.FIELD_*</code> flags.
+	 * @see AppState#getChangedFields(AppState)
+	 */
+	void onAppStateFieldsChanged(int changedFields);
+
+}
@@ -0,0 +1,27 @@
+package com.zello.sdk;
+
+/**
+ * The <code>AppStateListener</code> interface receives notifications about changes of the ZelloWork app state.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToAppState(AppStateListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface AppStateListener {
+
+	/**
+	 * <p>
+	 * Called when the {@link AppState} changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread. It is not called when the ZelloWork app reports the same state again;
+	 * use {@link AppStateChangeListener} to find out which fields have changed.
+	 * </p>
+	 *
+	 * @see Zello#getAppState(AppState)
+	 * @see Events#onAppStateChanged()
+	 */
+	void onAppStateChanged();
+
+}
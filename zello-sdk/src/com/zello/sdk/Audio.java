@@ -28,23 +28,28 @@ public class Audio {
 	private @NonNull AudioMode _mode = AudioMode.SPEAKER; // Current mode
 	private @Nullable BroadcastReceiver _receiver;
 	private @Nullable Context _context;
-	private @Nullable String _package;
+	private @Nullable Sdk _sdk; // Sends the commands
 
 	//endregion
 
 	//region Package Private Methods
 
-	Audio(String packageName, Context context) {
-		_package = packageName;
+	Audio(@Nullable Sdk sdk, String packageName, Context context) {
+		_sdk = sdk;
 		_context = context;
 		if (context != null && packageName != null) {
 			_receiver = new BroadcastReceiver() {
 				@Override
 				public void onReceive(Context context, Intent intent) {
 					updateAudioState(intent);
-
-					for (Events event : Zello.getInstance().events) {
-						event.onAudioStateChanged();
+					Zello.getInstance().journal.record(JournalEventType.AUDIO_STATE, intent != null ? intent.getStringExtra(Constants.EXTRA_MODE) : null, null, 0);
+					Zello.getInstance().audioModePublisher.publish(_mode);
+
+					ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+					for (AudioStateListener listener : Zello.getInstance().audioStateListeners.get()) {
+						long start = watchdog.start();
+						listener.onAudioStateChanged();
+						watchdog.end(listener, start);
 					}
 				}
 			};
@@ -60,6 +65,7 @@ public class Audio {
 		}
 		_receiver = null;
 		_context = null;
+		_sdk = null;
 	}
 
 	//endregion
@@ -148,12 +154,10 @@ public class Audio {
 	//region Private Methods
 
 	private void doSetMode(@NonNull AudioMode mode, int wearable) {
-		Context context = _context;
-		if (context == null) {
+		Sdk sdk = _sdk;
+		if (_context == null || sdk == null) {
 			return;
 		}
-		Intent intent = new Intent(_package + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_AUDIO);
 		final String command;
 		switch (mode) {
 			case BLUETOOTH:
@@ -168,8 +172,7 @@ public class Audio {
 			default:
 				command = Constants.EXTRA_SP;
 		}
-		intent.putExtra(Constants.EXTRA_MODE, command);
-		context.sendBroadcast(intent);
+		sdk.setAudioMode(command);
 	}
 
 	private void updateAudioState(@Nullable Intent intent) {
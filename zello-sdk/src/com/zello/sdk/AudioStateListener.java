@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+/**
+ * The <code>AudioStateListener</code> interface receives notifications about changes of the audio state.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToAudioState(AudioStateListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface AudioStateListener {
+
+	/**
+	 * <p>
+	 * Called when the state of the {@link Audio} changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @see Zello#getAudio()
+	 * @see Events#onAudioStateChanged()
+	 */
+	void onAudioStateChanged();
+
+}
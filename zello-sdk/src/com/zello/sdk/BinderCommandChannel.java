@@ -0,0 +1,128 @@
+package com.zello.sdk;
+
+import android.content.Intent;
+import android.os.IBinder;
+import android.os.Parcel;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Sends commands to the ZelloWork app as one-way transactions over the binder of the bound SDK service.
+ * <p>
+ * A transaction goes straight to the app process, while a broadcast is first matched against every registered receiver
+ * by the system. One-way transactions can't report whether the app handled them, so the channel is only used when
+ * the service binder reports the command channel interface descriptor and answers a synchronous handshake with
+ * a supported protocol version. The SDK runs the handshake on a background thread and keeps sending broadcasts until
+ * it succeeds. The channel shuts itself down the first time a transaction fails; the caller then
+ * falls back to broadcasts.
+ * </p>
+ * <p>
+ * A command transaction carries the interface token, the protocol version, the action of the command intent and its extras.
+ * The handshake carries the interface token and the protocol version of the SDK; the reply carries the protocol version
+ * of the app and a set of <code>CAPABILITY_*</code> flags.
+ * </p>
+ */
+class BinderCommandChannel {
+
+	static final String DESCRIPTOR = "com.zello.sdk.ICommandChannel";
+	static final int COMMAND_TRANSACTION = IBinder.FIRST_CALL_TRANSACTION;
+	static final int HANDSHAKE_TRANSACTION = IBinder.FIRST_CALL_TRANSACTION + 1;
+
+	static final int CAPABILITY_BATCH = 1; // The app accepts Constants.VALUE_BATCH commands
+
+	private static final int PROTOCOL_VERSION = 1;
+
+	private final @NonNull IBinder _binder;
+	private final int _capabilities;
+	private volatile boolean _closed;
+
+	private BinderCommandChannel(@NonNull IBinder binder, int capabilities) {
+		_binder = binder;
+		_capabilities = capabilities;
+	}
+
+	/**
+	 * Create a channel if the service supports it.
+	 * Blocks until the app answers the handshake, so it must not be called on the UI thread.
+	 *
+	 * @param binder Binder received in <code>onServiceConnected</code>
+	 * @return The channel or null if commands should be sent as broadcasts
+	 */
+	static @Nullable BinderCommandChannel create(@Nullable IBinder binder) {
+		if (binder == null) {
+			return null;
+		}
+		Parcel data = null;
+		Parcel reply = null;
+		try {
+			if (!DESCRIPTOR.equals(binder.getInterfaceDescriptor())) {
+				return null;
+			}
+			data = Parcel.obtain();
+			reply = Parcel.obtain();
+			data.writeInterfaceToken(DESCRIPTOR);
+			data.writeInt(PROTOCOL_VERSION);
+			if (!binder.transact(HANDSHAKE_TRANSACTION, data, reply, 0)) {
+				// The app exposes the interface but doesn't implement the handshake
+				return null;
+			}
+			reply.readException();
+			int version = reply.readInt();
+			int capabilities = reply.readInt();
+			if (version < PROTOCOL_VERSION) {
+				return null;
+			}
+			return new BinderCommandChannel(binder, capabilities);
+		} catch (Throwable t) {
+			Log.i("zello sdk", "Error in BinderCommandChannel.create: " + t.toString());
+		} finally {
+			if (data != null) {
+				data.recycle();
+			}
+			if (reply != null) {
+				reply.recycle();
+			}
+		}
+		return null;
+	}
+
+	boolean hasCapability(int capability) {
+		return (_capabilities & capability) != 0;
+	}
+
+	/**
+	 * Send a command.
+	 *
+	 * @return True if the command was sent; false if it has to be sent as a broadcast
+	 */
+	boolean send(@NonNull Intent intent) {
+		if (_closed) {
+			return false;
+		}
+		Parcel data = Parcel.obtain();
+		try {
+			data.writeInterfaceToken(DESCRIPTOR);
+			data.writeInt(PROTOCOL_VERSION);
+			data.writeString(intent.getAction());
+			data.writeBundle(intent.getExtras());
+			if (_binder.transact(COMMAND_TRANSACTION, data, null, IBinder.FLAG_ONEWAY)) {
+				return true;
+			}
+			_closed = true;
+		} catch (Throwable t) {
+			// Dead or misbehaving service; use broadcasts from now on
+			_closed = true;
+			Log.i("zello sdk", "Error in BinderCommandChannel.send: " + t.toString());
+		} finally {
+			data.recycle();
+		}
+		return false;
+	}
+
+	void close() {
+		_closed = true;
+	}
+
+}
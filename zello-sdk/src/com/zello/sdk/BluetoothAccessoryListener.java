@@ -0,0 +1,34 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The <code>BluetoothAccessoryListener</code> interface receives notifications about changes of Bluetooth accessory connection state.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToBluetoothAccessories(BluetoothAccessoryListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface BluetoothAccessoryListener {
+
+	/**
+	 * <p>
+	 * Called when a Bluetooth accessory connection state changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param type        Type of the device.
+	 * @param state       New state of the device.
+	 * @param name        Name of the device.
+	 * @param description A description of the event that can be shown to the user.
+	 * @see Events#onBluetoothAccessoryStateChanged(BluetoothAccessoryType, BluetoothAccessoryState, String, String)
+	 */
+	void onBluetoothAccessoryStateChanged(
+			@NonNull BluetoothAccessoryType type, @NonNull BluetoothAccessoryState state,
+			@Nullable String name, @Nullable String description);
+
+}
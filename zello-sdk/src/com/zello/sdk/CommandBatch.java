@@ -0,0 +1,157 @@
+package com.zello.sdk;
+
+import java.util.ArrayList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>CommandBatch</code> class collects channel and contact commands and sends them to the ZelloWork app together.
+ * </p>
+ * <p>
+ *     If the ZelloWork app reports that it accepts batches over the binder of its service, the whole batch is sent as a single payload.
+ *     Otherwise the commands are sent one by one with a short pause between them, so that a large batch
+ *     doesn't flood the app with broadcasts. Either way, the results are reported per command.
+ * </p>
+ * <p>
+ *     A batch can only be committed once. For example:
+ * </p>
+ * <pre>
+ * Zello.getInstance().batch().connectChannel("Dispatch").connectChannel("Field").mute(contact).commit(listener);
+ * </pre>
+ * @see Zello#batch()
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CommandBatch {
+
+	//region Package Private Properties
+
+	final @NonNull ArrayList<Item> _items = new ArrayList<>();
+	private boolean _committed;
+
+	//endregion
+
+	CommandBatch() {
+	}
+
+	/**
+	 * Adds a command to connect to a channel.
+	 * @param channel The name of the channel.
+	 * @return This <code>CommandBatch</code>.
+	 * @see Zello#connectChannel(String)
+	 */
+	public @NonNull CommandBatch connectChannel(@Nullable String channel) {
+		return add(Constants.VALUE_CONNECT, channel, -1);
+	}
+
+	/**
+	 * Adds a command to disconnect from a channel.
+	 * @param channel The name of the channel.
+	 * @return This <code>CommandBatch</code>.
+	 * @see Zello#disconnectChannel(String)
+	 */
+	public @NonNull CommandBatch disconnectChannel(@Nullable String channel) {
+		return add(Constants.VALUE_DISCONNECT, channel, -1);
+	}
+
+	/**
+	 * Adds a command to mute a contact.
+	 * @param contact The contact.
+	 * @return This <code>CommandBatch</code>.
+	 * @see Zello#muteContact(Contact, boolean)
+	 */
+	public @NonNull CommandBatch mute(@Nullable Contact contact) {
+		return add(Constants.VALUE_MUTE, contact != null ? contact.getName() : null, contactType(contact));
+	}
+
+	/**
+	 * Adds a command to unmute a contact.
+	 * @param contact The contact.
+	 * @return This <code>CommandBatch</code>.
+	 * @see Zello#muteContact(Contact, boolean)
+	 */
+	public @NonNull CommandBatch unmute(@Nullable Contact contact) {
+		return add(Constants.VALUE_UNMUTE, contact != null ? contact.getName() : null, contactType(contact));
+	}
+
+	/**
+	 * Returns the number of commands in the batch.
+	 * @return The number of commands.
+	 */
+	public int getCount() {
+		synchronized (_items) {
+			return _items.size();
+		}
+	}
+
+	/**
+	 * Returns the name of the channel or contact a command applies to.
+	 * @param index Index of the command.
+	 * @return Nullable; the name.
+	 */
+	public @Nullable String getName(int index) {
+		synchronized (_items) {
+			return index >= 0 && index < _items.size() ? _items.get(index).name : null;
+		}
+	}
+
+	/**
+	 * Sends the commands to the ZelloWork app.
+	 * @see #commit(CommandBatchListener)
+	 */
+	public void commit() {
+		commit(null);
+	}
+
+	/**
+	 * Sends the commands to the ZelloWork app and reports the result of each command to a listener.
+	 * Calls after the first one are ignored.
+	 * @param listener Nullable; listener that receives the results.
+	 */
+	public void commit(@Nullable CommandBatchListener listener) {
+		synchronized (_items) {
+			if (_committed) {
+				return;
+			}
+			_committed = true;
+		}
+		Zello.getInstance().commitBatch(this, listener);
+	}
+
+	//region Private Methods
+
+	private @NonNull CommandBatch add(@NonNull String command, @Nullable String name, int type) {
+		synchronized (_items) {
+			if (!_committed) {
+				_items.add(new Item(command, name, type));
+			}
+		}
+		return this;
+	}
+
+	private static int contactType(@Nullable Contact contact) {
+		if (contact == null) {
+			return -1;
+		}
+		ContactType type = contact.getType();
+		return type == ContactType.CHANNEL || type == ContactType.GROUP || type == ContactType.CONVERSATION ? 1 : 0;
+	}
+
+	//endregion
+
+	static class Item {
+
+		final @NonNull String command;
+		final @Nullable String name;
+		final int type; // Value of the contact type extra; -1 when not sent
+
+		Item(@NonNull String command, @Nullable String name, int type) {
+			this.command = command;
+			this.name = name;
+			this.type = type;
+		}
+
+	}
+
+}
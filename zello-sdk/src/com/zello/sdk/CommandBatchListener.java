@@ -0,0 +1,44 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>CommandBatchListener</code> interface receives the results of a {@link CommandBatch}.
+ * @see CommandBatch#commit(CommandBatchListener)
+ */
+@SuppressWarnings("unused")
+public interface CommandBatchListener {
+
+	/**
+	 * <p>
+	 * Called for every command of the batch, in the order the commands were added.
+	 * </p>
+	 * <p>
+	 * A result only means that the command was accepted for sending. The commands are one-way messages to the ZelloWork app,
+	 * so a sent command is not confirmed to have been delivered to or executed by the app.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param batch The batch.
+	 * @param index Index of the command in the batch.
+	 * @param sent true if the command was accepted for sending to the ZelloWork app; false if the SDK is not connected to the app or
+	 *             the command is not valid, for example because the channel name is empty.
+	 */
+	void onBatchItemResult(@NonNull CommandBatch batch, int index, boolean sent);
+
+	/**
+	 * <p>
+	 * Called after the results of all commands of the batch have been reported.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param batch The batch.
+	 * @param sentCount Number of commands that were accepted for sending to the ZelloWork app.
+	 */
+	void onBatchCompleted(@NonNull CommandBatch batch, int sentCount);
+
+}
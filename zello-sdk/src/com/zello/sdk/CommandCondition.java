@@ -0,0 +1,163 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * State that a command is expected to produce.
+ * Each condition overrides the checks for the kind of state the command affects.
+ */
+abstract class CommandCondition {
+
+	boolean matchAppState(@NonNull AppState state) {
+		return false;
+	}
+
+	boolean matchSelectedContact(@NonNull Contact contact) {
+		return false;
+	}
+
+	boolean matchContacts(@NonNull ContactsSnapshot snapshot) {
+		return false;
+	}
+
+	/**
+	 * @return True if the condition needs the contact list
+	 */
+	boolean usesContacts() {
+		return false;
+	}
+
+	//region Factories
+
+	static @NonNull CommandCondition signedIn(@NonNull final String username) {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return state.isSignedIn() && username.equalsIgnoreCase(state.getUsername());
+			}
+		};
+	}
+
+	static @NonNull CommandCondition signedOut() {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return !state.isSignedIn() && !state.isSigningIn() && !state.isSigningOut() && !state.isCancellingSignin();
+			}
+		};
+	}
+
+	static @NonNull CommandCondition locked(final boolean locked) {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return state.isLocked() == locked;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition status(@NonNull final Status status) {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return state.getStatus() == status;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition statusMessage(@Nullable String message) {
+		final String expected = Util.emptyIfNull(message);
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return expected.equals(Util.emptyIfNull(state.getStatusMessage()));
+			}
+		};
+	}
+
+	static @NonNull CommandCondition autoRun(final boolean enabled) {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return state.isAutoRunEnabled() == enabled;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition autoConnectChannels(final boolean enabled) {
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return state.isChannelAutoConnectEnabled() == enabled;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition externalId(@Nullable String id) {
+		final String expected = Util.emptyIfNull(id);
+		return new CommandCondition() {
+			@Override
+			boolean matchAppState(@NonNull AppState state) {
+				return expected.equals(Util.emptyIfNull(state.getExternalId()));
+			}
+		};
+	}
+
+	/**
+	 * @param name    Name of the contact or null if no contact should be selected
+	 * @param channel True for channels, groups and conversations
+	 */
+	static @NonNull CommandCondition selectedContact(@Nullable final String name, final boolean channel) {
+		return new CommandCondition() {
+			@Override
+			boolean matchSelectedContact(@NonNull Contact contact) {
+				if (name == null || name.isEmpty()) {
+					return Util.emptyIfNull(contact.getName()).isEmpty();
+				}
+				return name.equalsIgnoreCase(contact.getName()) && isChannel(contact.getType()) == channel;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition channelConnected(@NonNull final String channel, final boolean connected) {
+		return new CommandCondition() {
+			@Override
+			boolean matchContacts(@NonNull ContactsSnapshot snapshot) {
+				int index = snapshot.indexOfIgnoreCase(channel, ContactType.CHANNEL);
+				if (index < 0) {
+					return false;
+				}
+				ContactStatus status = snapshot.getStatus(index);
+				return connected ? status != ContactStatus.OFFLINE && status != ContactStatus.CONNECTING : status == ContactStatus.OFFLINE;
+			}
+
+			@Override
+			boolean usesContacts() {
+				return true;
+			}
+		};
+	}
+
+	static @NonNull CommandCondition muted(@Nullable final String name, @NonNull final ContactType type, final boolean muted) {
+		return new CommandCondition() {
+			@Override
+			boolean matchContacts(@NonNull ContactsSnapshot snapshot) {
+				int index = snapshot.indexOf(name, type);
+				return index >= 0 && snapshot.getMuted(index) == muted;
+			}
+
+			@Override
+			boolean usesContacts() {
+				return true;
+			}
+		};
+	}
+
+	static boolean isChannel(@NonNull ContactType type) {
+		return type == ContactType.CHANNEL || type == ContactType.GROUP || type == ContactType.CONVERSATION;
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,147 @@
+package com.zello.sdk;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+
+import java.util.ArrayDeque;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Sends commands to one ZelloWork app package.
+ * <p>
+ * The command action is built once per package and command intents are explicitly addressed to the package,
+ * so the system doesn't have to match them against the receivers of other apps. Intents are taken from a small pool
+ * and returned to it after sending; both the binder channel and <code>sendBroadcast</code> copy the intent before
+ * returning, so it's safe to reuse it right away. Every send is counted and timed.
+ * </p>
+ */
+class CommandDispatcher {
+
+	private static final int POOL_SIZE = 4;
+
+	private final @NonNull String _package;
+	private final @NonNull String _action;
+	private volatile @Nullable BinderCommandChannel _channel;
+	private final @NonNull ArrayDeque<Intent> _pool = new ArrayDeque<>(); // Guarded by itself
+	private final @NonNull CommandStats _stats = new CommandStats(); // Guarded by itself
+
+	CommandDispatcher(@NonNull String packageName) {
+		_package = packageName;
+		_action = packageName + "." + Constants.ACTION_COMMAND;
+	}
+
+	@NonNull String getPackage() {
+		return _package;
+	}
+
+	/**
+	 * Set the binder channel to send commands over; null to send broadcasts.
+	 */
+	void setChannel(@Nullable BinderCommandChannel channel) {
+		BinderCommandChannel old = _channel;
+		_channel = channel;
+		if (old != null && old != channel) {
+			old.close();
+		}
+	}
+
+	/**
+	 * Get an intent for a command. The intent must be passed to {@link #send(Context, Intent)} or dropped.
+	 */
+	@NonNull Intent obtain(@NonNull String command) {
+		Intent intent;
+		synchronized (_pool) {
+			intent = _pool.pollFirst();
+		}
+		if (intent == null) {
+			intent = new Intent(_action);
+			intent.setPackage(_package);
+		}
+		intent.putExtra(Constants.EXTRA_COMMAND, command);
+		return intent;
+	}
+
+	void send(@NonNull Context context, @NonNull Intent intent) {
+		send(context, intent, true);
+	}
+
+	/**
+	 * Send a command over the binder channel if possible, otherwise as a broadcast, and return the intent to the pool.
+	 *
+	 * @param journal Record the command in the event journal
+	 */
+	void send(@NonNull Context context, @NonNull Intent intent, boolean journal) {
+		if (journal) {
+			Zello.getInstance().journal.record(JournalEventType.COMMAND, intent.getStringExtra(Constants.EXTRA_COMMAND), intent.getStringExtra(Constants.EXTRA_CONTACT_NAME), 0);
+		}
+		long start = System.nanoTime();
+		BinderCommandChannel channel = _channel;
+		boolean binder = channel != null && channel.send(intent);
+		if (!binder) {
+			context.sendBroadcast(intent);
+		}
+		addStats(start, binder);
+		recycle(intent);
+	}
+
+	/**
+	 * @return True if the connected app has confirmed in the handshake that it accepts batches over the binder channel
+	 */
+	boolean supportsBatch() {
+		BinderCommandChannel channel = _channel;
+		return channel != null && channel.hasCapability(BinderCommandChannel.CAPABILITY_BATCH);
+	}
+
+	/**
+	 * Send a command over the binder channel only and return the intent to the pool.
+	 *
+	 * @return True if the command was sent
+	 */
+	boolean sendOverBinder(@NonNull Intent intent) {
+		long start = System.nanoTime();
+		BinderCommandChannel channel = _channel;
+		boolean sent = channel != null && channel.send(intent);
+		if (sent) {
+			addStats(start, true);
+		}
+		recycle(intent);
+		return sent;
+	}
+
+	@NonNull CommandStats getStats() {
+		synchronized (_stats) {
+			return _stats.copy();
+		}
+	}
+
+	void close() {
+		setChannel(null);
+	}
+
+	//region Private Methods
+
+	private void addStats(long start, boolean binder) {
+		long time = System.nanoTime() - start;
+		synchronized (_stats) {
+			++_stats._count;
+			_stats._binderCount += binder ? 1 : 0;
+			_stats._totalNanos += time;
+			_stats._maxNanos = Math.max(_stats._maxNanos, time);
+		}
+	}
+
+	private void recycle(@NonNull Intent intent) {
+		intent.replaceExtras((Bundle) null);
+		synchronized (_pool) {
+			if (_pool.size() < POOL_SIZE) {
+				_pool.addLast(intent);
+			}
+		}
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,172 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>CommandHandle</code> class tracks the outcome of a command sent to the ZelloWork app.
+ * </p>
+ * <p>
+ *     Commands are asynchronous. A handle completes when the app reports a state in which the command has taken effect,
+ *     for example when the app state shows the user signed in after {@link Zello#beginSignIn(String, String, String, boolean)},
+ *     or when the channel shows up as connected in the contact list after {@link Zello#beginConnectChannel(String)}.
+ *     The state is checked every time the app broadcasts it, so there is no need to poll it.
+ *     If the state doesn't match before the timeout, the handle fails.
+ * </p>
+ * <p>
+ *     For example:
+ * </p>
+ * <pre>
+ * Zello.getInstance().beginConnectChannel("Dispatch").setListener(new CommandHandleListener() {
+ *     public void onCommandDone(CommandHandle handle) {
+ *         if (handle.isCompleted()) {
+ *             ...
+ *         }
+ *     }
+ * });
+ * </pre>
+ * @see CommandHandleListener
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CommandHandle {
+
+	private static final int PENDING = 0;
+	private static final int COMPLETED = 1;
+	private static final int FAILED = 2;
+
+	//region Package Private Properties
+
+	final @Nullable CommandCondition _condition;
+	@Nullable Runnable _timeout; // Fails the handle; used by CommandTracker
+
+	//endregion
+
+	private final @NonNull String _command;
+	private int _state = PENDING; // Guarded by this
+	private @Nullable CommandHandleListener _listener; // Guarded by this
+
+	CommandHandle(@NonNull String command, @Nullable CommandCondition condition) {
+		_command = command;
+		_condition = condition;
+	}
+
+	/**
+	 * Creates a handle for a command that could not be sent.
+	 */
+	static @NonNull CommandHandle failed(@NonNull String command) {
+		CommandHandle handle = new CommandHandle(command, null);
+		handle._state = FAILED;
+		return handle;
+	}
+
+	//region Getters
+
+	/**
+	 * Gets the command.
+	 * @return The command, one of the <code>Constants.VALUE_*</code> values.
+	 */
+	public @NonNull String getCommand() {
+		return _command;
+	}
+
+	/**
+	 * Checks whether the command has completed or failed.
+	 * @return true if the outcome of the command is known.
+	 */
+	public synchronized boolean isDone() {
+		return _state != PENDING;
+	}
+
+	/**
+	 * Checks whether the command has taken effect.
+	 * @return true if the ZelloWork app has reported the state the command was expected to produce.
+	 */
+	public synchronized boolean isCompleted() {
+		return _state == COMPLETED;
+	}
+
+	/**
+	 * Checks whether the command has failed.
+	 * @return true if the command was not sent, or if the expected state wasn't reported before the timeout.
+	 */
+	public synchronized boolean isFailed() {
+		return _state == FAILED;
+	}
+
+	//endregion
+
+	//region Public Methods
+
+	/**
+	 * <p>
+	 *     Sets a listener that is called when the command completes or fails.
+	 * </p>
+	 * <p>
+	 *     If the command is already done, the listener is called right away on the calling thread.
+	 * </p>
+	 * @param listener The listener or null to remove the current listener.
+	 */
+	public void setListener(@Nullable CommandHandleListener listener) {
+		synchronized (this) {
+			if (_state == PENDING) {
+				_listener = listener;
+				return;
+			}
+		}
+		if (listener != null) {
+			listener.onCommandDone(this);
+		}
+	}
+
+	/**
+	 * <p>
+	 *     Waits until the command completes or fails.
+	 * </p>
+	 * <p>
+	 *     NB: Handles are resolved on the UI thread, so never call this method from the UI thread.
+	 * </p>
+	 * @param timeoutMs Maximum time to wait, ms.
+	 * @return true if the command has completed.
+	 * @throws InterruptedException If the thread is interrupted while waiting.
+	 */
+	public synchronized boolean await(long timeoutMs) throws InterruptedException {
+		long end = System.currentTimeMillis() + timeoutMs;
+		while (_state == PENDING) {
+			long left = end - System.currentTimeMillis();
+			if (left <= 0) {
+				break;
+			}
+			wait(left);
+		}
+		return _state == COMPLETED;
+	}
+
+	//endregion
+
+	/**
+	 * Set the outcome of the command and notify the listener.
+	 *
+	 * @return True if the handle was still pending
+	 */
+	boolean resolve(boolean completed) {
+		CommandHandleListener listener;
+		synchronized (this) {
+			if (_state != PENDING) {
+				return false;
+			}
+			_state = completed ? COMPLETED : FAILED;
+			listener = _listener;
+			_listener = null;
+			notifyAll();
+		}
+		if (listener != null) {
+			ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+			long start = watchdog.start();
+			listener.onCommandDone(this);
+			watchdog.end(listener, start);
+		}
+		return true;
+	}
+
+}
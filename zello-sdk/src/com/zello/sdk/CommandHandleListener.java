@@ -0,0 +1,25 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>CommandHandleListener</code> interface is notified when the outcome of a command is known.
+ * @see CommandHandle#setListener(CommandHandleListener)
+ */
+@SuppressWarnings("unused")
+public interface CommandHandleListener {
+
+	/**
+	 * <p>
+	 * Called when the command completes or fails.
+	 * Use {@link CommandHandle#isCompleted()} to check whether the command has taken effect.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param handle The handle of the command.
+	 */
+	void onCommandDone(@NonNull CommandHandle handle);
+
+}
@@ -0,0 +1,72 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <p>
+ *     The <code>CommandStats</code> class holds the statistics of commands sent to the ZelloWork app.
+ * </p>
+ * <p>
+ *     The time of a command is the time it took to hand it over to the system, either as a binder transaction or as a broadcast.
+ * </p>
+ * @see Zello#getCommandStats()
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CommandStats {
+
+	//region Package Private Variables
+
+	long _count;
+	long _binderCount;
+	long _totalNanos;
+	long _maxNanos;
+
+	//endregion
+
+	/**
+	 * Returns the number of sent commands.
+	 * @return The number of commands.
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the number of commands sent over the binder of the ZelloWork app service.
+	 * The rest were sent as broadcasts.
+	 * @return The number of commands.
+	 */
+	public long getBinderCount() {
+		return _binderCount;
+	}
+
+	/**
+	 * Returns the average time to send a command.
+	 * @return Time in microseconds; <code>0</code> if nothing has been sent yet.
+	 */
+	public long getAverageTimeMicros() {
+		return _count > 0 ? _totalNanos / _count / 1000 : 0;
+	}
+
+	/**
+	 * Returns the longest time to send a command.
+	 * @return Time in microseconds.
+	 */
+	public long getMaxTimeMicros() {
+		return _maxNanos / 1000;
+	}
+
+	//region Package Private Methods
+
+	@NonNull CommandStats copy() {
+		CommandStats stats = new CommandStats();
+		stats._count = _count;
+		stats._binderCount = _binderCount;
+		stats._totalNanos = _totalNanos;
+		stats._maxNanos = _maxNanos;
+		return stats;
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,195 @@
+package com.zello.sdk;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.ArrayList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Keeps the handles of pending commands and resolves them as app state, selected contact and contact list updates arrive.
+ * Handles are resolved on the UI thread.
+ */
+class CommandTracker {
+
+	static final long TIMEOUT = 10000; // ms
+	static final long SIGN_IN_TIMEOUT = 30000; // ms
+
+	private final @NonNull ArrayList<CommandHandle> _handles = new ArrayList<>(); // Guarded by itself
+	private final @NonNull Handler _handler = new Handler(Looper.getMainLooper());
+	private @Nullable HandlerThread _thread; // Reads the contact list for contact conditions; guarded by _handles
+	private @Nullable Handler _worker; // Guarded by _handles
+
+	@NonNull CommandHandle track(@NonNull String command, @NonNull CommandCondition condition, long timeoutMs) {
+		return track(command, condition, timeoutMs, null);
+	}
+
+	/**
+	 * Start tracking a command. The handle is first checked against the current state, which may already match.
+	 *
+	 * @param contacts Contact list to check contact conditions against
+	 */
+	@NonNull CommandHandle track(@NonNull String command, @NonNull CommandCondition condition, long timeoutMs, @Nullable Contacts contacts) {
+		final CommandHandle handle = new CommandHandle(command, condition);
+		handle._timeout = new Runnable() {
+			@Override
+			public void run() {
+				if (remove(handle)) {
+					handle.resolve(false);
+				}
+			}
+		};
+		synchronized (_handles) {
+			_handles.add(handle);
+		}
+		_handler.postDelayed(handle._timeout, timeoutMs);
+		if (condition.usesContacts()) {
+			checkContacts(contacts);
+		} else {
+			_handler.post(new Runnable() {
+				@Override
+				public void run() {
+					check(handle);
+				}
+			});
+		}
+		return handle;
+	}
+
+	/**
+	 * Check pending contact conditions against the current contact list.
+	 * The list is read on a background thread because reading it may query the ZelloWork app.
+	 */
+	void checkContacts(@Nullable final Contacts contacts) {
+		if (contacts == null) {
+			return;
+		}
+		Handler worker;
+		synchronized (_handles) {
+			if (!needsContacts()) {
+				return;
+			}
+			worker = _worker;
+			if (worker == null) {
+				HandlerThread thread = new HandlerThread("zello sdk commands", Process.THREAD_PRIORITY_BACKGROUND);
+				thread.start();
+				worker = new Handler(thread.getLooper());
+				_thread = thread;
+				_worker = worker;
+			}
+		}
+		worker.post(new Runnable() {
+			@Override
+			public void run() {
+				final ContactsSnapshot snapshot = contacts.check();
+				_handler.post(new Runnable() {
+					@Override
+					public void run() {
+						onContacts(snapshot);
+					}
+				});
+			}
+		});
+	}
+
+	void onAppState(@NonNull AppState state) {
+		for (CommandHandle handle : getHandles()) {
+			if (handle._condition != null && handle._condition.matchAppState(state)) {
+				complete(handle);
+			}
+		}
+	}
+
+	void onSelectedContact(@NonNull Contact contact) {
+		for (CommandHandle handle : getHandles()) {
+			if (handle._condition != null && handle._condition.matchSelectedContact(contact)) {
+				complete(handle);
+			}
+		}
+	}
+
+	void onContacts(@NonNull ContactsSnapshot snapshot) {
+		for (CommandHandle handle : getHandles()) {
+			if (handle._condition != null && handle._condition.matchContacts(snapshot)) {
+				complete(handle);
+			}
+		}
+	}
+
+	/**
+	 * @return True if a pending command waits for a contact list update
+	 */
+	boolean needsContacts() {
+		synchronized (_handles) {
+			for (CommandHandle handle : _handles) {
+				if (handle._condition != null && handle._condition.usesContacts()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fail all pending commands.
+	 */
+	void cancelAll() {
+		for (CommandHandle handle : getHandles()) {
+			if (remove(handle)) {
+				handle.resolve(false);
+			}
+		}
+		HandlerThread thread;
+		synchronized (_handles) {
+			thread = _thread;
+			_thread = null;
+			_worker = null;
+		}
+		if (thread != null) {
+			thread.quit();
+		}
+	}
+
+	private void check(@NonNull CommandHandle handle) {
+		CommandCondition condition = handle._condition;
+		if (condition == null) {
+			return;
+		}
+		Zello zello = Zello.getInstance();
+		AppState state = zello.appStatePublisher.getValue();
+		Contact contact = zello.selectedContactPublisher.getValue();
+		if ((state != null && condition.matchAppState(state)) || (contact != null && condition.matchSelectedContact(contact))) {
+			complete(handle);
+		}
+	}
+
+	private void complete(@NonNull CommandHandle handle) {
+		if (remove(handle)) {
+			handle.resolve(true);
+		}
+	}
+
+	private boolean remove(@NonNull CommandHandle handle) {
+		synchronized (_handles) {
+			if (!_handles.remove(handle)) {
+				return false;
+			}
+		}
+		Runnable timeout = handle._timeout;
+		if (timeout != null) {
+			_handler.removeCallbacks(timeout);
+		}
+		return true;
+	}
+
+	private @NonNull CommandHandle[] getHandles() {
+		synchronized (_handles) {
+			return _handles.toArray(new CommandHandle[0]);
+		}
+	}
+
+}
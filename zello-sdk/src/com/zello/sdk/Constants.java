@@ -79,6 +79,9 @@ public class Constants {
 	public static final String EXTRA_STATE = "STATE";
 	public static final String EXTRA_NAME = "NAME";
 	public static final String EXTRA_DESCRIPTION = "DESCRIPTION";
+	public static final String EXTRA_BATCH_COMMANDS = "BATCH_COMMANDS";
+	public static final String EXTRA_BATCH_NAMES = "BATCH_NAMES";
+	public static final String EXTRA_BATCH_TYPES = "BATCH_TYPES";
 
 	public static final String VALUE_BEGIN_MESSAGE = "BEGIN_MESSAGE";
 	public static final String VALUE_END_MESSAGE = "END_MESSAGE";
@@ -103,6 +106,7 @@ public class Constants {
 	public static final String VALUE_CHANNELS = "CHANNELS";
 	public static final String VALUE_RECENTS = "RECENTS";
 	public static final String VALUE_SET_AUDIO = "SET_AUDIO";
+	public static final String VALUE_BATCH = "BATCH";
 
 	public static final String ACTION_COMMAND = "COMMAND";
 	public static final String ACTION_APP_STATE = "APP_STATE";
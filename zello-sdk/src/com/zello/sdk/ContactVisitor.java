@@ -0,0 +1,28 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>ContactVisitor</code> interface is used to iterate over the contact list without allocating objects.
+ * @see Contacts#forEach(ContactVisitor)
+ * @see ContactsSnapshot#forEach(ContactVisitor, Contact)
+ */
+@SuppressWarnings("unused")
+public interface ContactVisitor {
+
+	/**
+	 * <p>
+	 * Called for every contact in the list, in order.
+	 * </p>
+	 * <p>
+	 * The same <code>Contact</code> object is passed for every contact and is overwritten after the method returns.
+	 * Use {@link Contact#clone()} to keep a copy.
+	 * </p>
+	 *
+	 * @param index Index of the contact.
+	 * @param contact The contact.
+	 * @return true to continue with the next contact, false to stop.
+	 */
+	boolean visit(int index, @NonNull Contact contact);
+
+}
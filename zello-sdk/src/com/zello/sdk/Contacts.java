@@ -4,8 +4,14 @@ import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 /**
@@ -22,33 +28,18 @@ public class Contacts {
 
 	private static final String _authoritySuffix = ".provider";
 	private static final String _contactsPath = "/contacts";
-	private static final String _columnName = "name";
-	private static final String _columnFullName = "fullname";
-	private static final String _columnDisplayName = "displayname";
-	private static final String _columnStatusMessage = "statusmessage";
-	private static final String _columnType = "type";
-	private static final String _columnStatus = "status";
-	private static final String _columnUsersCount = "userscount";
-	private static final String _columnUsersTotal = "userstotal";
-	private static final String _columnTitle = "title";
-	private static final String _columnMuted = "muted";
-	private static final String _columnNoDisconnect = "nodisconnect";
 
 	private @Nullable ContactsObserver _observer;
 	private @Nullable Cursor _cursor;
 	private @Nullable Context _context;
-	private boolean _invalid;
-	private int _indexName;
-	private int _indexFullName;
-	private int _indexDisplayName;
-	private int _indexStatusMessage;
-	private int _indexType;
-	private int _indexStatus;
-	private int _indexUsersCount;
-	private int _indexUsersTotal;
-	private int _indexTitle;
-	private int _indexMuted;
-	private int _indexNoDisconnect; // Not available if the client app is old - has to be at least 3.19
+	private final @Nullable Handler _handler;
+	private volatile @Nullable ContactsLoader _loader; // Set when contacts are queried in background
+	private volatile boolean _invalid;
+	private volatile @Nullable ContactsSnapshot _snapshot;
+	private volatile @Nullable ContactsSnapshot _published; // Last snapshot passed to the listeners in background mode
+	private volatile @Nullable ContactsQuery _query; // Null when all columns of all contacts are read
+	private volatile boolean _pushdown = true; // Set to false when the ZelloWork app rejects projections or selections
+	private final @NonNull ArrayList<ContactsPager> _pagers = new ArrayList<>();
 
 	private static Uri _uri;
 
@@ -56,20 +47,47 @@ public class Contacts {
 
 	//region Package Private Methods
 
-	Contacts(@Nullable String packageName, @Nullable Context context, @Nullable Handler handler) {
+	/**
+	 * @param lane Runs change notifications from the provider; null to run them right away
+	 */
+	Contacts(@Nullable String packageName, @Nullable Context context, @Nullable Handler handler, @Nullable Executor lane, boolean background, long coalescingWindow, long coalescingMaxLatency, @Nullable ContactsQuery query) {
 		_context = context;
-		_observer = ContactsObserver.create(this, handler);
+		_handler = handler;
+		_query = query;
+		ContactsObserver observer = ContactsObserver.create(this, handler);
+		observer.setCoalescing(coalescingWindow, coalescingMaxLatency);
+		observer.setLane(lane);
+		_observer = observer;
 		Uri uri = _uri;
 		if (uri == null) {
 			uri = Uri.parse("content://" + packageName + _authoritySuffix + _contactsPath);
 			_uri = uri;
 		}
-		query();
+		if (background) {
+			_invalid = true;
+			setBackgroundQuery(true);
+		} else {
+			query(query);
+		}
 	}
 
 	void close() {
 		_context = null;
-		clean();
+		ContactsLoader loader = _loader;
+		_loader = null;
+		if (loader != null) {
+			loader.close();
+		}
+		synchronized (this) {
+			clean();
+		}
+		ContactsPager[] pagers;
+		synchronized (_pagers) {
+			pagers = _pagers.toArray(new ContactsPager[0]);
+		}
+		for (ContactsPager pager : pagers) {
+			pager.close();
+		}
 		ContactsObserver observer = _observer;
 		if (observer != null) {
 			observer.close();
@@ -79,9 +97,155 @@ public class Contacts {
 
 	void invalidate() {
 		_invalid = true;
+		Zello.getInstance().journal.record(JournalEventType.CONTACTS, null, null, 0);
+
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (ContactsListener listener : Zello.getInstance().contactsListeners.get()) {
+			long start = watchdog.start();
+			listener.onContactsChanged();
+			watchdog.end(listener, start);
+		}
+
+		ContactsLoader loader = _loader;
+		if (loader != null) {
+			loader.requery();
+		}
+
+		synchronized (_pagers) {
+			for (ContactsPager pager : _pagers) {
+				pager.reset();
+			}
+		}
+
+		// Without background queries no snapshot is published, so commands waiting for the list read it themselves
+		if (loader == null) {
+			Zello.getInstance().commands.checkContacts(this);
+		}
+	}
+
+	void setBackgroundQuery(boolean enable) {
+		ContactsLoader loader = _loader;
+		if (enable == (loader != null)) {
+			return;
+		}
+		if (enable) {
+			loader = new ContactsLoader(this, _handler);
+			_loader = loader;
+			loader.requery();
+		} else {
+			_loader = null;
+			loader.close();
+		}
+	}
+
+	void setQuery(@Nullable ContactsQuery query) {
+		_query = query;
+		// Listeners expect change notifications on the UI thread
+		Handler handler = _handler;
+		if (handler == null) {
+			handler = new Handler(Looper.getMainLooper());
+		}
+		handler.post(new Runnable() {
+			@Override
+			public void run() {
+				if (_context != null) {
+					invalidate();
+				}
+			}
+		});
+	}
+
+	void setCoalescing(long window, long maxLatency) {
+		ContactsObserver observer = _observer;
+		if (observer != null) {
+			observer.setCoalescing(window, maxLatency);
+		}
+	}
+
+	@Nullable ContactsQuery getQuery() {
+		return _query;
+	}
+
+	void removePager(@NonNull ContactsPager pager) {
+		synchronized (_pagers) {
+			_pagers.remove(pager);
+		}
+	}
+
+	/**
+	 * Open a new cursor over the contacts provider.
+	 * The query is passed down to the provider unless the provider has rejected it before.
+	 */
+	@Nullable Cursor openCursor(@Nullable ContactsQuery filter) {
+		Context context = _context;
+		if (context == null) {
+			return null;
+		}
+		Cursor cursor = null;
+		if (_pushdown && filter != null && !filter.isDefault()) {
+			try {
+				cursor = context.getContentResolver().query(_uri, ContactsSnapshot.getProjection(filter), ContactsSnapshot.getSelection(filter), ContactsSnapshot.getSelectionArgs(filter), null);
+			} catch (Throwable t) {
+				// Old versions of the app don't support it; read everything and filter on the client side from now on
+				_pushdown = false;
+				Log.i("zello sdk", "Error in Contacts.openCursor: " + t.toString());
+			}
+		}
+		if (cursor == null) {
+			cursor = context.getContentResolver().query(_uri, null, null, null, null);
+		}
+		return cursor;
+	}
+
+	/**
+	 * Called on the loader thread to bring the snapshot up to date.
+	 */
+	@NonNull ContactsSnapshot load() {
+		return check();
+	}
+
+	/**
+	 * Get the current snapshot, reading the contact list if it has changed.
+	 */
+	synchronized @NonNull ContactsSnapshot check() {
+		ContactsSnapshot snapshot = _snapshot;
+		ContactsQuery filter = _query;
+		if (_invalid) {
+			_invalid = false;
+			clean();
+			query(filter);
+		} else if (snapshot != null) {
+			return snapshot;
+		}
+		ContactsSnapshot previous = snapshot;
+		snapshot = ContactsSnapshot.fromCursor(_cursor, filter);
+		snapshot.inheritSearchIndex(previous);
+		_snapshot = snapshot;
+		return snapshot;
+	}
 
-		for (Events event : Zello.getInstance().events) {
-			event.onContactsChanged();
+	/**
+	 * Called on the UI thread when the loader has finished a query.
+	 */
+	void publish(@NonNull ContactsSnapshot snapshot, @Nullable ContactsDiff diff) {
+		if (_context == null) {
+			return;
+		}
+		_published = snapshot;
+		Zello.getInstance().contactsPublisher.publish(snapshot);
+		Zello.getInstance().commands.onContacts(snapshot);
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (ContactsSnapshotListener listener : Zello.getInstance().contactsSnapshotListeners.get()) {
+			long start = watchdog.start();
+			listener.onContactsSnapshotReady(snapshot);
+			watchdog.end(listener, start);
+		}
+		if (diff != null && !diff.isEmpty()) {
+			for (ContactsDiffListener listener : Zello.getInstance().contactsDiffListeners.get()) {
+				long start = watchdog.start();
+				listener.onContactsDiff(diff);
+				watchdog.end(listener, start);
+			}
 		}
 	}
 
@@ -101,16 +265,7 @@ public class Contacts {
 	 * @return the number of contacts for the user.
      */
 	public int getCount() {
-		check();
-		Cursor cursor = _cursor;
-		if (cursor != null) {
-			try {
-				return cursor.getCount();
-			} catch (Throwable t) {
-				Log.i("zello sdk", "Error in Contacts.getCount: " + t.toString());
-			}
-		}
-		return 0;
+		return getSnapshot().getCount();
 	}
 
 	/**
@@ -124,45 +279,182 @@ public class Contacts {
 	 * @return <code>Contact</code> at the specified index.
      */
 	public @Nullable Contact getItem(int index) {
-		check();
-		Cursor cursor = _cursor;
-		if (cursor == null) {
-			return null;
+		return getSnapshot().getItem(index);
+	}
+
+	/**
+	 * <p>
+	 *     Copies the <code>Contact</code> at the specified index to an existing <code>Contact</code> object.
+	 * </p>
+	 * <p>
+	 *     Unlike {@link #getItem(int)}, this method doesn't allocate any objects, so the same <code>Contact</code>
+	 *     can be reused for every row of a list.
+	 *     NB: This method may take nontrivial time to execute, so do not call it from the UI thread.
+	 * </p>
+	 * @param index Index indicating which <code>Contact</code> to retrieve.
+	 * @param contact Object to receive the contact data.
+	 * @return true if the contact was copied; false if the index is out of range.
+	 */
+	public boolean getItem(int index, @NonNull Contact contact) {
+		return getSnapshot().getItem(index, contact);
+	}
+
+	/**
+	 * <p>
+	 *     Calls the visitor for every contact in the list.
+	 * </p>
+	 * <p>
+	 *     A single <code>Contact</code> object is reused for all contacts, so iterating doesn't create garbage
+	 *     regardless of the size of the list. All contacts come from the same snapshot of the list.
+	 *     NB: This method may take nontrivial time to execute, so do not call it from the UI thread.
+	 * </p>
+	 * @param visitor Visitor to call.
+	 * @see ContactsSnapshot#forEach(ContactVisitor, Contact)
+	 */
+	public void forEach(@NonNull ContactVisitor visitor) {
+		getSnapshot().forEach(visitor, new Contact());
+	}
+
+	/**
+	 * <p>
+	 *     Finds a contact by its name and type.
+	 * </p>
+	 * <p>
+	 *     The lookup takes constant time regardless of the size of the contact list.
+	 *     NB: Like the other getters, this method may need to read the contact list first, so do not call it from the UI thread.
+	 * </p>
+	 * @param name Name of the contact, as returned by {@link Contact#getName()}.
+	 * @param type Type of the contact.
+	 * @return Nullable; the <code>Contact</code> or <code>null</code> if the contact is not found.
+	 * @see #findIgnoreCase(String, ContactType)
+	 * @see ContactsSnapshot#indexOf(String, ContactType)
+	 */
+	public @Nullable Contact find(@Nullable String name, @NonNull ContactType type) {
+		ContactsSnapshot snapshot = getSnapshot();
+		return snapshot.getItem(snapshot.indexOf(name, type));
+	}
+
+	/**
+	 * <p>
+	 *     Finds a contact by its name and type, ignoring the case of the name.
+	 * </p>
+	 * <p>
+	 *     The lookup takes constant time regardless of the size of the contact list.
+	 *     NB: Like the other getters, this method may need to read the contact list first, so do not call it from the UI thread.
+	 * </p>
+	 * @param name Name of the contact.
+	 * @param type Type of the contact.
+	 * @return Nullable; the <code>Contact</code> or <code>null</code> if the contact is not found.
+	 * @see #find(String, ContactType)
+	 * @see ContactsSnapshot#indexOfIgnoreCase(String, ContactType)
+	 */
+	public @Nullable Contact findIgnoreCase(@Nullable String name, @NonNull ContactType type) {
+		ContactsSnapshot snapshot = getSnapshot();
+		return snapshot.getItem(snapshot.indexOfIgnoreCase(name, type));
+	}
+
+	/**
+	 * <p>
+	 *     Finds contacts whose display name, full name or name contains the query, ignoring case.
+	 * </p>
+	 * <p>
+	 *     Contacts that have a word starting with the query come first. The search uses an index
+	 *     over the current snapshot and is fast enough to be called on every keystroke.
+	 * </p>
+	 * @param query Text to search for.
+	 * @param limit Maximum number of results.
+	 * @return Matching contacts.
+	 * @see ContactsSnapshot#search(String, int)
+	 */
+	public @NonNull List<Contact> search(@Nullable String query, int limit) {
+		ContactsSnapshot snapshot = getSnapshot();
+		int[] rows = snapshot.search(query, limit);
+		ArrayList<Contact> contacts = new ArrayList<>(rows.length);
+		for (int row : rows) {
+			contacts.add(snapshot.getItem(row));
 		}
-		cursor.moveToPosition(index);
-		Contact contact = new Contact();
-		try {
-			contact._name = cursor.getString(_indexName);
-			contact._fullName = cursor.getString(_indexFullName);
-			contact._displayName = cursor.getString(_indexDisplayName);
-			contact._type = Sdk.intToContactType(cursor.getInt(_indexType));
-			contact._status = Sdk.intToContactStatus(cursor.getInt(_indexStatus));
-			contact._title = cursor.getString(_indexTitle);
-			contact._muted = cursor.getInt(_indexMuted) != 0;
-			switch (contact._type) {
-				case USER:
-				case GATEWAY: {
-					contact._statusMessage = cursor.getString(_indexStatusMessage);
-					break;
-				}
-				case CHANNEL: {
-					contact._usersCount = cursor.getInt(_indexUsersCount);
-					break;
-				}
-				case GROUP:
-				case CONVERSATION: {
-					contact._usersCount = cursor.getInt(_indexUsersCount);
-					contact._usersTotal = cursor.getInt(_indexUsersTotal);
-					break;
-				}
-			}
-			contact._noDisconnect = (contact._type != ContactType.CHANNEL && contact._type != ContactType.GROUP && contact._type != ContactType.CONVERSATION) ||
-					(_indexNoDisconnect >= 0 && cursor.getInt(_indexNoDisconnect) != 0);
-			return contact;
-		} catch (Throwable t) {
-			Log.i("zello sdk", "Error in Contacts.getItem: " + t.toString());
+		return contacts;
+	}
+
+	/**
+	 * <p>
+	 *     Creates a pager that reads the contact list in pages on a background thread.
+	 * </p>
+	 * <p>
+	 *     Use a pager instead of {@link #getItem(int)} to show very large contact lists without reading all contacts
+	 *     into memory. The pager keeps itself up to date with the contact list until it is closed.
+	 * </p>
+	 * @param pageSize Number of contacts on a page. A few screens worth of rows, such as 50, is a good choice.
+	 * @param cacheSize Maximum number of pages to keep in memory.
+	 * @param listener Nullable; listener notified on the UI thread when pages are loaded.
+	 * @return New pager. Call {@link ContactsPager#close()} when it's no longer needed.
+	 * @see ContactsPager
+	 */
+	public @NonNull ContactsPager createPager(int pageSize, int cacheSize, @Nullable ContactsPagerListener listener) {
+		ContactsPager pager = new ContactsPager(this, _handler, pageSize, cacheSize, listener);
+		synchronized (_pagers) {
+			_pagers.add(pager);
 		}
-		return null;
+		return pager;
+	}
+
+	/**
+	 * <p>
+	 *     Returns the number of raw change notifications received from the ZelloWork app by this <code>Contacts</code> instance.
+	 * </p>
+	 * @return the number of change notifications.
+	 * @see #getMergedChangeNotificationCount()
+	 * @see Zello#setContactsCoalescing(long, long)
+	 */
+	public long getChangeNotificationCount() {
+		ContactsObserver observer = _observer;
+		return observer != null ? observer.getReceivedCount() : 0;
+	}
+
+	/**
+	 * <p>
+	 *     Returns the number of raw change notifications that were merged into another notification.
+	 * </p>
+	 * <p>
+	 *     Merged notifications don't cause separate <code>onContactsChanged()</code> calls.
+	 *     The value is always <code>0</code> unless coalescing is turned on.
+	 * </p>
+	 * @return the number of merged change notifications.
+	 * @see #getChangeNotificationCount()
+	 * @see Zello#setContactsCoalescing(long, long)
+	 */
+	public long getMergedChangeNotificationCount() {
+		ContactsObserver observer = _observer;
+		return observer != null ? observer.getMergedCount() : 0;
+	}
+
+	/**
+	 * <p>
+	 *     Returns an immutable snapshot of the contact list.
+	 * </p>
+	 * <p>
+	 *     The snapshot is read from the ZelloWork app once per contact list change and shared by all callers
+	 *     until the list changes again. Use it to bind large lists without allocating a <code>Contact</code> per row.
+	 * </p>
+	 * <p>
+	 *     NB: This method may take nontrivial time to execute, so do not call it from the UI thread.
+	 *     When background queries are enabled with {@link Zello#setContactsBackgroundQuery(boolean)}, this method
+	 *     never blocks and returns the most recent snapshot published to {@link ContactsSnapshotListener}.
+	 * </p>
+	 * @return Current snapshot of the contact list.
+	 * @see ContactsSnapshot
+	 */
+	public @NonNull ContactsSnapshot getSnapshot() {
+		if (_loader != null) {
+			// The loader may already hold a newer snapshot that the listeners haven't received yet
+			ContactsSnapshot published = _published;
+			return published != null ? published : ContactsSnapshot.empty();
+		}
+		ContactsSnapshot snapshot = _snapshot;
+		if (snapshot != null && !_invalid) {
+			return snapshot;
+		}
+		return check();
 	}
 
 	//endregion
@@ -171,25 +463,13 @@ public class Contacts {
 
 	//region Private Methods
 
-	private void query() {
-		Context context = _context;
-		if (context == null) {
+	private void query(@Nullable ContactsQuery filter) {
+		if (_context == null) {
 			return;
 		}
 		Cursor cursor = null;
-		_indexNoDisconnect = -1;
 		try {
-			cursor = context.getContentResolver().query(_uri, null, null, null, null);
-			_indexName = cursor.getColumnIndex(_columnName);
-			_indexFullName = cursor.getColumnIndex(_columnFullName);
-			_indexDisplayName = cursor.getColumnIndex(_columnDisplayName);
-			_indexStatusMessage = cursor.getColumnIndex(_columnStatusMessage);
-			_indexType = cursor.getColumnIndex(_columnType);
-			_indexStatus = cursor.getColumnIndex(_columnStatus);
-			_indexUsersCount = cursor.getColumnIndex(_columnUsersCount);
-			_indexUsersTotal = cursor.getColumnIndex(_columnUsersTotal);
-			_indexTitle = cursor.getColumnIndex(_columnTitle);
-			_indexMuted = cursor.getColumnIndex(_columnMuted);
+			cursor = openCursor(filter);
 			cursor.registerContentObserver(_observer);
 		} catch (Throwable t) {
 			if (cursor != null) {
@@ -201,12 +481,6 @@ public class Contacts {
 			}
 			Log.i("zello sdk", "Error in Contacts.Contacts: " + t.toString());
 		}
-		if (cursor != null) {
-			try {
-				_indexNoDisconnect = cursor.getColumnIndex(_columnNoDisconnect);
-			} catch (Throwable ignore) {
-			}
-		}
 		_cursor = cursor;
 	}
 
@@ -227,14 +501,6 @@ public class Contacts {
 		}
 	}
 
-	private void check() {
-		if (_invalid) {
-			_invalid = false;
-			clean();
-			query();
-		}
-	}
-
 	//endregion
 
 }
@@ -0,0 +1,373 @@
+package com.zello.sdk;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>ContactsDiff</code> class describes the difference between two consecutive {@link ContactsSnapshot}s.
+ * </p>
+ * <p>
+ *     Contacts are matched by their name and {@link ContactType}. Positions of removed contacts refer to the old snapshot,
+ *     positions of inserted and changed contacts refer to the new snapshot. Moves are reported for contacts present
+ *     in both snapshots whose relative order has changed.
+ * </p>
+ * <p>
+ *     The positions can be used to drive partial list updates. To update a list incrementally, apply removals in
+ *     descending order of their positions first, then insertions in ascending order, or simply use the
+ *     {@link #getNewSnapshot()} as the new data set and notify the list of the changed ranges.
+ * </p>
+ * @see ContactsDiffListener
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ContactsDiff {
+
+	/**
+	 * Full name of the contact has changed.
+	 */
+	public static final int FIELD_FULL_NAME = 1;
+	/**
+	 * Display name of the contact has changed.
+	 */
+	public static final int FIELD_DISPLAY_NAME = 1 << 1;
+	/**
+	 * {@link ContactStatus} of the contact has changed.
+	 */
+	public static final int FIELD_STATUS = 1 << 2;
+	/**
+	 * Status message of the contact has changed.
+	 */
+	public static final int FIELD_STATUS_MESSAGE = 1 << 3;
+	/**
+	 * Number of online users of the channel has changed.
+	 */
+	public static final int FIELD_USERS_COUNT = 1 << 4;
+	/**
+	 * Number of total users of the channel has changed.
+	 */
+	public static final int FIELD_USERS_TOTAL = 1 << 5;
+	/**
+	 * Title of the contact has changed.
+	 */
+	public static final int FIELD_TITLE = 1 << 6;
+	/**
+	 * Muted state of the contact has changed.
+	 */
+	public static final int FIELD_MUTED = 1 << 7;
+	/**
+	 * No disconnect setting of the channel has changed.
+	 */
+	public static final int FIELD_NO_DISCONNECT = 1 << 8;
+
+	//region Private Properties
+
+	private static final int[] _noInts = new int[0];
+
+	private final @NonNull ContactsSnapshot _old;
+	private final @NonNull ContactsSnapshot _new;
+	private final @NonNull int[] _removed; // Positions in the old snapshot, ascending
+	private final @NonNull int[] _inserted; // Positions in the new snapshot, ascending
+	private final @NonNull int[] _movedFrom; // Positions in the old snapshot
+	private final @NonNull int[] _movedTo; // Positions in the new snapshot, ascending
+	private final @NonNull int[] _changed; // Positions in the new snapshot, ascending
+	private final @NonNull int[] _changedFields;
+
+	//endregion
+
+	//region Package Private Methods
+
+	private ContactsDiff(@NonNull ContactsSnapshot oldSnapshot, @NonNull ContactsSnapshot newSnapshot,
+						 @NonNull int[] removed, @NonNull int[] inserted, @NonNull int[] movedFrom, @NonNull int[] movedTo,
+						 @NonNull int[] changed, @NonNull int[] changedFields) {
+		_old = oldSnapshot;
+		_new = newSnapshot;
+		_removed = removed;
+		_inserted = inserted;
+		_movedFrom = movedFrom;
+		_movedTo = movedTo;
+		_changed = changed;
+		_changedFields = changedFields;
+	}
+
+	/**
+	 * Compare two snapshots.
+	 *
+	 * @param oldSnapshot Previous snapshot
+	 * @param newSnapshot Current snapshot
+	 * @return Difference between the snapshots
+	 */
+	static @NonNull ContactsDiff compute(@NonNull ContactsSnapshot oldSnapshot, @NonNull ContactsSnapshot newSnapshot) {
+		int oldCount = oldSnapshot.getCount();
+		int newCount = newSnapshot.getCount();
+		// Old position of each new contact or -1 when the contact is new
+		int[] sources = new int[newCount];
+		boolean[] kept = new boolean[oldCount];
+		int insertedCount = 0;
+		int changedCount = 0;
+		int[] fields = new int[newCount];
+		for (int i = 0; i < newCount; ++i) {
+			int oldPosition = oldSnapshot.indexOf(newSnapshot.getName(i), newSnapshot.getType(i));
+			if (oldPosition < 0) {
+				sources[i] = -1;
+				++insertedCount;
+				continue;
+			}
+			sources[i] = oldPosition;
+			kept[oldPosition] = true;
+			fields[i] = compare(oldSnapshot, oldPosition, newSnapshot, i);
+			if (fields[i] != 0) {
+				++changedCount;
+			}
+		}
+		int[] removed = collectRemoved(kept);
+		int[] inserted = insertedCount > 0 ? new int[insertedCount] : _noInts;
+		int[] changed = changedCount > 0 ? new int[changedCount] : _noInts;
+		int[] changedFields = changedCount > 0 ? new int[changedCount] : _noInts;
+		for (int i = 0, ins = 0, chg = 0; i < newCount; ++i) {
+			if (sources[i] < 0) {
+				inserted[ins++] = i;
+			} else if (fields[i] != 0) {
+				changed[chg] = i;
+				changedFields[chg++] = fields[i];
+			}
+		}
+		// Contacts that keep their relative order form the longest increasing run of old positions; everything else has moved
+		boolean[] stable = longestIncreasingSubsequence(sources);
+		int movedCount = 0;
+		for (int i = 0; i < newCount; ++i) {
+			if (sources[i] >= 0 && !stable[i]) {
+				++movedCount;
+			}
+		}
+		int[] movedFrom = movedCount > 0 ? new int[movedCount] : _noInts;
+		int[] movedTo = movedCount > 0 ? new int[movedCount] : _noInts;
+		for (int i = 0, mov = 0; i < newCount; ++i) {
+			if (sources[i] >= 0 && !stable[i]) {
+				movedFrom[mov] = sources[i];
+				movedTo[mov++] = i;
+			}
+		}
+		return new ContactsDiff(oldSnapshot, newSnapshot, removed, inserted, movedFrom, movedTo, changed, changedFields);
+	}
+
+	//endregion
+
+	//region Public Methods
+
+	/**
+	 * Returns the snapshot the changes are relative to.
+	 * @return The previous snapshot.
+	 */
+	public @NonNull ContactsSnapshot getOldSnapshot() {
+		return _old;
+	}
+
+	/**
+	 * Returns the snapshot that resulted from the changes.
+	 * @return The current snapshot.
+	 */
+	public @NonNull ContactsSnapshot getNewSnapshot() {
+		return _new;
+	}
+
+	/**
+	 * Determines if the snapshots contain the same data.
+	 * @return boolean indicating if there are no changes.
+	 */
+	public boolean isEmpty() {
+		return _removed.length == 0 && _inserted.length == 0 && _movedTo.length == 0 && _changed.length == 0;
+	}
+
+	/**
+	 * Returns the number of contacts that were removed.
+	 * @return the number of removed contacts.
+	 */
+	public int getRemovedCount() {
+		return _removed.length;
+	}
+
+	/**
+	 * Returns the position of a removed contact in the old snapshot.
+	 * Positions are sorted in ascending order.
+	 * @param index Index of the removal, between <code>0</code> and {@link #getRemovedCount()}.
+	 * @return Position in the old snapshot.
+	 */
+	public int getRemovedPosition(int index) {
+		return _removed[index];
+	}
+
+	/**
+	 * Returns the number of contacts that were added.
+	 * @return the number of inserted contacts.
+	 */
+	public int getInsertedCount() {
+		return _inserted.length;
+	}
+
+	/**
+	 * Returns the position of an added contact in the new snapshot.
+	 * Positions are sorted in ascending order.
+	 * @param index Index of the insertion, between <code>0</code> and {@link #getInsertedCount()}.
+	 * @return Position in the new snapshot.
+	 */
+	public int getInsertedPosition(int index) {
+		return _inserted[index];
+	}
+
+	/**
+	 * Returns the number of contacts that changed their position relative to other contacts.
+	 * @return the number of moved contacts.
+	 */
+	public int getMovedCount() {
+		return _movedTo.length;
+	}
+
+	/**
+	 * Returns the position of a moved contact in the old snapshot.
+	 * @param index Index of the move, between <code>0</code> and {@link #getMovedCount()}.
+	 * @return Position in the old snapshot.
+	 */
+	public int getMovedFromPosition(int index) {
+		return _movedFrom[index];
+	}
+
+	/**
+	 * Returns the position of a moved contact in the new snapshot.
+	 * @param index Index of the move, between <code>0</code> and {@link #getMovedCount()}.
+	 * @return Position in the new snapshot.
+	 */
+	public int getMovedToPosition(int index) {
+		return _movedTo[index];
+	}
+
+	/**
+	 * Returns the number of contacts whose data has changed.
+	 * @return the number of changed contacts.
+	 */
+	public int getChangedCount() {
+		return _changed.length;
+	}
+
+	/**
+	 * Returns the position of a changed contact in the new snapshot.
+	 * Positions are sorted in ascending order.
+	 * @param index Index of the change, between <code>0</code> and {@link #getChangedCount()}.
+	 * @return Position in the new snapshot.
+	 */
+	public int getChangedPosition(int index) {
+		return _changed[index];
+	}
+
+	/**
+	 * Returns the set of fields that changed for a changed contact.
+	 * @param index Index of the change, between <code>0</code> and {@link #getChangedCount()}.
+	 * @return Combination of <code>FIELD_*</code> flags.
+	 */
+	public int getChangedFields(int index) {
+		return _changedFields[index];
+	}
+
+	//endregion
+
+	//region Private Methods
+
+	private static int compare(@NonNull ContactsSnapshot oldSnapshot, int oldIndex, @NonNull ContactsSnapshot newSnapshot, int newIndex) {
+		int fields = 0;
+		if (!same(oldSnapshot.getFullName(oldIndex), newSnapshot.getFullName(newIndex))) {
+			fields |= FIELD_FULL_NAME;
+		}
+		if (!same(oldSnapshot.getDisplayName(oldIndex), newSnapshot.getDisplayName(newIndex))) {
+			fields |= FIELD_DISPLAY_NAME;
+		}
+		if (oldSnapshot.getStatus(oldIndex) != newSnapshot.getStatus(newIndex)) {
+			fields |= FIELD_STATUS;
+		}
+		if (!same(oldSnapshot.getStatusMessage(oldIndex), newSnapshot.getStatusMessage(newIndex))) {
+			fields |= FIELD_STATUS_MESSAGE;
+		}
+		if (oldSnapshot.getUsersCount(oldIndex) != newSnapshot.getUsersCount(newIndex)) {
+			fields |= FIELD_USERS_COUNT;
+		}
+		if (oldSnapshot.getUsersTotal(oldIndex) != newSnapshot.getUsersTotal(newIndex)) {
+			fields |= FIELD_USERS_TOTAL;
+		}
+		if (!same(oldSnapshot.getTitle(oldIndex), newSnapshot.getTitle(newIndex))) {
+			fields |= FIELD_TITLE;
+		}
+		if (oldSnapshot.getMuted(oldIndex) != newSnapshot.getMuted(newIndex)) {
+			fields |= FIELD_MUTED;
+		}
+		if (oldSnapshot.getNoDisconnect(oldIndex) != newSnapshot.getNoDisconnect(newIndex)) {
+			fields |= FIELD_NO_DISCONNECT;
+		}
+		return fields;
+	}
+
+	private static boolean same(@Nullable String a, @Nullable String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private static @NonNull int[] collectRemoved(@NonNull boolean[] kept) {
+		int count = 0;
+		for (boolean k : kept) {
+			if (!k) {
+				++count;
+			}
+		}
+		if (count == 0) {
+			return _noInts;
+		}
+		int[] removed = new int[count];
+		for (int i = 0, r = 0; i < kept.length; ++i) {
+			if (!kept[i]) {
+				removed[r++] = i;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Find the longest strictly increasing subsequence of non-negative values.
+	 *
+	 * @param values Values; negative values are ignored
+	 * @return Flags marking the members of the subsequence
+	 */
+	private static @NonNull boolean[] longestIncreasingSubsequence(@NonNull int[] values) {
+		int n = values.length;
+		boolean[] result = new boolean[n];
+		int[] tails = new int[n]; // Index of the smallest tail of an increasing run of each length
+		int[] previous = new int[n];
+		Arrays.fill(previous, -1);
+		int length = 0;
+		for (int i = 0; i < n; ++i) {
+			int value = values[i];
+			if (value < 0) {
+				continue;
+			}
+			int lo = 0;
+			int hi = length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (values[tails[mid]] < value) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			previous[i] = lo > 0 ? tails[lo - 1] : -1;
+			tails[lo] = i;
+			if (lo == length) {
+				++length;
+			}
+		}
+		for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+			result[i] = true;
+		}
+		return result;
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>ContactsDiffListener</code> interface receives incremental changes of the contact list.
+ * @see Zello#subscribeToContactsDiffs(ContactsDiffListener)
+ */
+@SuppressWarnings("unused")
+public interface ContactsDiffListener {
+
+	/**
+	 * <p>
+	 * Called when the contact list has changed, with the list of inserted, removed, moved and changed contacts.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread. It is only called when background queries are enabled
+	 * with the {@link Zello#setContactsBackgroundQuery(boolean)} method, since that is where the changes are computed.
+	 * </p>
+	 *
+	 * @param diff The changes between the previous and the current contact list snapshots.
+	 * @see ContactsDiff
+	 */
+	void onContactsDiff(@NonNull ContactsDiff diff);
+
+}
@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+/**
+ * The <code>ContactsListener</code> interface receives notifications about changes of the contact list.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToContacts(ContactsListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface ContactsListener {
+
+	/**
+	 * <p>
+	 * Called when the {@link Contacts} for the user changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @see Zello#getContacts()
+	 * @see Events#onContactsChanged()
+	 */
+	void onContactsChanged();
+
+}
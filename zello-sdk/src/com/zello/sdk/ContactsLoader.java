@@ -0,0 +1,78 @@
+package com.zello.sdk;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Message;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Requeries the contacts provider on a dedicated background thread and
+ * publishes finished snapshots on the thread of the supplied handler.
+ */
+class ContactsLoader implements Handler.Callback {
+
+	private static final int REQUERY = 1;
+
+	private final @NonNull HandlerThread _thread;
+	private final @NonNull Handler _worker;
+	private volatile @Nullable Contacts _contacts;
+	private final @Nullable Handler _publisher;
+	private @NonNull ContactsSnapshot _last = ContactsSnapshot.empty(); // Last snapshot loaded on the worker thread
+
+	ContactsLoader(@NonNull Contacts contacts, @Nullable Handler publisher) {
+		_contacts = contacts;
+		_publisher = publisher;
+		_thread = new HandlerThread("zello sdk contacts", Process.THREAD_PRIORITY_BACKGROUND);
+		_thread.start();
+		Looper looper = _thread.getLooper();
+		_worker = new Handler(looper, this);
+	}
+
+	void requery() {
+		// Multiple invalidations that arrive before the worker gets to them result in a single query
+		_worker.removeMessages(REQUERY);
+		_worker.sendEmptyMessage(REQUERY);
+	}
+
+	void close() {
+		_contacts = null;
+		_worker.removeMessages(REQUERY);
+		_thread.quit();
+	}
+
+	@Override
+	public boolean handleMessage(@NonNull Message message) {
+		if (message.what != REQUERY) {
+			return false;
+		}
+		final Contacts contacts = _contacts;
+		if (contacts == null) {
+			return true;
+		}
+		final ContactsSnapshot snapshot = contacts.load();
+		ContactsSnapshot last = _last;
+		if (snapshot == last) {
+			return true;
+		}
+		_last = snapshot;
+		// Diffs are computed here to keep the UI thread free
+		final ContactsDiff diff = Zello.getInstance().contactsDiffListeners.isEmpty() ? null : ContactsDiff.compute(last, snapshot);
+		Handler publisher = _publisher;
+		if (publisher != null) {
+			publisher.post(new Runnable() {
+				@Override
+				public void run() {
+					if (_contacts == contacts) {
+						contacts.publish(snapshot, diff);
+					}
+				}
+			});
+		}
+		return true;
+	}
+
+}
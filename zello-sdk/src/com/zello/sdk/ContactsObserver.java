@@ -3,6 +3,9 @@ package com.zello.sdk;
 import android.database.ContentObserver;
 import android.os.Build;
 import android.os.Handler;
+import android.os.SystemClock;
+
+import java.util.concurrent.Executor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -11,20 +14,115 @@ import androidx.annotation.Nullable;
 abstract class ContactsObserver extends ContentObserver {
 
 	private @Nullable Contacts _contacts;
+	private final @Nullable Handler _handler;
+	private long _window; // Coalescing window, 0 to deliver every notification immediately
+	private long _maxLatency; // Longest time a notification can be held back by the coalescing
+	private boolean _pending;
+	private long _pendingSince;
+	private volatile long _received; // Raw change notifications
+	private volatile long _merged; // Raw change notifications that were folded into another notification
+	private @Nullable Executor _lane; // Runs the notifications; null to run them right away
+
+	private final @NonNull Runnable _flush = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	private final @NonNull Runnable _invalidate = new Runnable() {
+		@Override
+		public void run() {
+			Contacts contacts = _contacts;
+			if (contacts != null) {
+				contacts.invalidate();
+			}
+		}
+	};
 
 	ContactsObserver(@Nullable Contacts contacts, @Nullable Handler handler) {
 		super(handler);
 		_contacts = contacts;
+		_handler = handler;
 	}
 
 	void close() {
 		_contacts = null;
+		_pending = false;
+		Handler handler = _handler;
+		if (handler != null) {
+			handler.removeCallbacks(_flush);
+		}
+	}
+
+	/**
+	 * Configure notification coalescing.
+	 *
+	 * @param window Time in ms to wait for more notifications after the last one; 0 to disable coalescing
+	 * @param maxLatency Maximum time in ms a notification can be delayed; 0 to use the window size
+	 */
+	void setCoalescing(long window, long maxLatency) {
+		_window = Math.max(0, window);
+		_maxLatency = maxLatency > 0 ? Math.max(maxLatency, _window) : _window;
+		if (_window == 0 && _pending) {
+			flush();
+		}
+	}
+
+	void setLane(@Nullable Executor lane) {
+		_lane = lane;
+	}
+
+	long getReceivedCount() {
+		return _received;
+	}
+
+	long getMergedCount() {
+		return _merged;
 	}
 
 	protected void invalidate() {
-		Contacts contacts = _contacts;
-		if (contacts != null) {
-			contacts.invalidate();
+		++_received;
+		Handler handler = _handler;
+		long window = _window;
+		if (window <= 0 || handler == null) {
+			deliver();
+			return;
+		}
+		long now = SystemClock.uptimeMillis();
+		if (_pending) {
+			++_merged;
+			handler.removeCallbacks(_flush);
+		} else {
+			_pending = true;
+			_pendingSince = now;
+		}
+		long delay = Math.min(window, _pendingSince + _maxLatency - now);
+		if (delay <= 0) {
+			flush();
+		} else {
+			handler.postDelayed(_flush, delay);
+		}
+	}
+
+	private void flush() {
+		Handler handler = _handler;
+		if (handler != null) {
+			handler.removeCallbacks(_flush);
+		}
+		if (!_pending) {
+			return;
+		}
+		_pending = false;
+		deliver();
+	}
+
+	private void deliver() {
+		Executor lane = _lane;
+		if (lane != null) {
+			lane.execute(_invalidate);
+		} else {
+			_invalidate.run();
 		}
 	}
 
@@ -0,0 +1,340 @@
+package com.zello.sdk;
+
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Message;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>ContactsPager</code> class provides paged access to a large contact list.
+ * </p>
+ * <p>
+ *     Instead of reading the whole list at once, the pager reads fixed-size pages of contacts on a background thread
+ *     as they are needed, and keeps a limited number of recently used pages in memory. This keeps memory usage
+ *     flat on devices with tens of thousands of contacts. Use it from a list adapter: report the visible range
+ *     with {@link #setViewport(int, int)}, bind rows with {@link #getItem(int, Contact)} and refresh the list
+ *     from the {@link ContactsPagerListener} callbacks.
+ * </p>
+ * <p>
+ *     The pager reads the contacts again every time the contact list changes. Columns and filters set with
+ *     {@link Zello#setContactsQuery(ContactsQuery)} are passed to the ZelloWork app; filters that the app doesn't support
+ *     are not applied in paged mode.
+ * </p>
+ * <p>
+ *     Call {@link #close()} when the pager is no longer needed.
+ * </p>
+ * @see Contacts#createPager(int, int, ContactsPagerListener)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ContactsPager {
+
+	//region Private Properties
+
+	private static final int RESET = 1;
+	private static final int LOAD = 2;
+	private static final int CLOSE = 3;
+
+	private final int _pageSize;
+	private final @NonNull HandlerThread _thread;
+	private final @NonNull Handler _worker;
+	private final @Nullable Handler _publisher;
+	private final @Nullable ContactsPagerListener _listener;
+	private volatile @Nullable Contacts _contacts;
+	private volatile int _count;
+	// Pages by page number in the order of use; guarded by itself
+	private final @NonNull LinkedHashMap<Integer, ContactsSnapshot> _pages;
+	// Pages queued for loading; guarded by _pages
+	private final @NonNull HashSet<Integer> _requested = new HashSet<>();
+	// Pages around the current viewport; guarded by _pages
+	private int _firstPage, _lastPage;
+	private @Nullable Cursor _cursor; // Only used on the worker thread
+
+	//endregion
+
+	//region Package Private Methods
+
+	ContactsPager(@NonNull Contacts contacts, @Nullable Handler publisher, int pageSize, final int cacheSize, @Nullable ContactsPagerListener listener) {
+		_contacts = contacts;
+		_publisher = publisher;
+		_pageSize = Math.max(pageSize, 1);
+		_listener = listener;
+		_pages = new LinkedHashMap<Integer, ContactsSnapshot>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, ContactsSnapshot> eldest) {
+				return size() > Math.max(cacheSize, 1);
+			}
+		};
+		_thread = new HandlerThread("zello sdk contacts pager", Process.THREAD_PRIORITY_BACKGROUND);
+		_thread.start();
+		_worker = new Handler(_thread.getLooper(), new WorkerCallback(this));
+		_worker.sendEmptyMessage(RESET);
+	}
+
+	void reset() {
+		// Multiple changes that arrive before the worker gets to them result in a single query
+		_worker.removeMessages(RESET);
+		_worker.sendEmptyMessage(RESET);
+	}
+
+	//endregion
+
+	//region Public Methods
+
+	/**
+	 * Returns the number of contacts.
+	 * <p>
+	 *     The value is <code>0</code> until the contact list is read for the first time and is updated right before
+	 *     {@link ContactsPagerListener#onContactsPagerReset(ContactsPager)} is called.
+	 * </p>
+	 * @return the number of contacts.
+	 */
+	public int getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the number of contacts on a page.
+	 * @return the page size.
+	 */
+	public int getPageSize() {
+		return _pageSize;
+	}
+
+	/**
+	 * <p>
+	 *     Reports the range of positions currently visible on the screen.
+	 * </p>
+	 * <p>
+	 *     The pager loads the pages that cover the range together with one page before and after it,
+	 *     so that scrolling in either direction finds the data ready.
+	 * </p>
+	 * @param first Position of the first visible contact.
+	 * @param last Position of the last visible contact.
+	 */
+	public void setViewport(int first, int last) {
+		int firstPage = Math.max(first / _pageSize - 1, 0);
+		int lastPage = Math.max(last, first) / _pageSize + 1;
+		synchronized (_pages) {
+			_firstPage = firstPage;
+			_lastPage = lastPage;
+		}
+		for (int page = firstPage; page <= lastPage; ++page) {
+			request(page);
+		}
+	}
+
+	/**
+	 * <p>
+	 *     Copies the contact at the specified position to an existing <code>Contact</code> object.
+	 * </p>
+	 * <p>
+	 *     If the page with the contact hasn't been loaded yet, the method returns <code>false</code> and starts loading it;
+	 *     {@link ContactsPagerListener#onContactsPageLoaded(ContactsPager, int, int)} is called when the page is ready.
+	 *     The method never blocks and can be called from the UI thread.
+	 * </p>
+	 * @param position Position of the contact.
+	 * @param contact Object to receive the contact data.
+	 * @return true if the contact was copied.
+	 */
+	public boolean getItem(int position, @NonNull Contact contact) {
+		if (position < 0) {
+			return false;
+		}
+		int page = position / _pageSize;
+		ContactsSnapshot snapshot;
+		synchronized (_pages) {
+			snapshot = _pages.get(page);
+		}
+		if (snapshot == null) {
+			request(page);
+			return false;
+		}
+		int index = position - page * _pageSize;
+		if (index >= snapshot.getCount()) {
+			return false;
+		}
+		snapshot.copyTo(index, contact);
+		return true;
+	}
+
+	/**
+	 * Returns the contact at the specified position if the page with the contact has been loaded.
+	 * @param position Position of the contact.
+	 * @return Nullable; the <code>Contact</code> or <code>null</code> if the page hasn't been loaded yet.
+	 * @see #getItem(int, Contact)
+	 */
+	public @Nullable Contact getItem(int position) {
+		Contact contact = new Contact();
+		return getItem(position, contact) ? contact : null;
+	}
+
+	/**
+	 * Stops the background thread and releases the loaded pages.
+	 */
+	public void close() {
+		Contacts contacts = _contacts;
+		_contacts = null;
+		if (contacts != null) {
+			contacts.removePager(this);
+		}
+		_worker.removeMessages(RESET);
+		_worker.removeMessages(LOAD);
+		_worker.sendEmptyMessage(CLOSE);
+		synchronized (_pages) {
+			_pages.clear();
+			_requested.clear();
+		}
+	}
+
+	//endregion
+
+	//region Private Methods
+
+	private void request(int page) {
+		synchronized (_pages) {
+			if (_contacts == null || _pages.containsKey(page) || _requested.contains(page)) {
+				return;
+			}
+			_requested.add(page);
+		}
+		_worker.sendMessage(_worker.obtainMessage(LOAD, page, 0));
+	}
+
+	private void doReset() {
+		Contacts contacts = _contacts;
+		if (contacts == null) {
+			return;
+		}
+		_worker.removeMessages(LOAD);
+		closeCursor();
+		Cursor cursor = null;
+		int count = 0;
+		try {
+			cursor = contacts.openCursor(contacts.getQuery());
+			count = cursor != null ? cursor.getCount() : 0;
+		} catch (Throwable t) {
+			Log.i("zello sdk", "Error in ContactsPager.doReset: " + t.toString());
+		}
+		_cursor = cursor;
+		// Load the visible pages before publishing the new count to avoid showing empty rows
+		int firstPage, lastPage;
+		synchronized (_pages) {
+			firstPage = _firstPage;
+			lastPage = _lastPage;
+		}
+		final LinkedHashMap<Integer, ContactsSnapshot> pages = new LinkedHashMap<>();
+		for (int page = firstPage; page <= lastPage && page * _pageSize < count; ++page) {
+			pages.put(page, ContactsSnapshot.pageFromCursor(cursor, page * _pageSize, _pageSize));
+		}
+		final int newCount = count;
+		publish(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (_pages) {
+					_pages.clear();
+					_pages.putAll(pages);
+					_requested.clear();
+				}
+				_count = newCount;
+				ContactsPagerListener listener = _listener;
+				if (listener != null) {
+					listener.onContactsPagerReset(ContactsPager.this);
+				}
+			}
+		});
+	}
+
+	private void doLoad(int page) {
+		final int position = page * _pageSize;
+		final ContactsSnapshot snapshot = ContactsSnapshot.pageFromCursor(_cursor, position, _pageSize);
+		synchronized (_pages) {
+			_requested.remove(page);
+			if (_contacts == null) {
+				return;
+			}
+			_pages.put(page, snapshot);
+		}
+		publish(new Runnable() {
+			@Override
+			public void run() {
+				ContactsPagerListener listener = _listener;
+				if (listener != null) {
+					listener.onContactsPageLoaded(ContactsPager.this, position, snapshot.getCount());
+				}
+			}
+		});
+	}
+
+	private void publish(@NonNull final Runnable runnable) {
+		Handler publisher = _publisher;
+		if (publisher == null) {
+			return;
+		}
+		publisher.post(new Runnable() {
+			@Override
+			public void run() {
+				if (_contacts != null) {
+					runnable.run();
+				}
+			}
+		});
+	}
+
+	private void closeCursor() {
+		Cursor cursor = _cursor;
+		_cursor = null;
+		if (cursor != null) {
+			try {
+				cursor.close();
+			} catch (Throwable t) {
+				Log.i("zello sdk", "Error in ContactsPager.closeCursor: " + t.toString());
+			}
+		}
+	}
+
+	//endregion
+
+	/**
+	 * Runs the pager requests on the worker thread.
+	 */
+	private static class WorkerCallback implements Handler.Callback {
+
+		private final @NonNull ContactsPager _pager;
+
+		WorkerCallback(@NonNull ContactsPager pager) {
+			_pager = pager;
+		}
+
+		@Override
+		public boolean handleMessage(@NonNull Message message) {
+			switch (message.what) {
+				case RESET: {
+					_pager.doReset();
+					return true;
+				}
+				case LOAD: {
+					_pager.doLoad(message.arg1);
+					return true;
+				}
+				case CLOSE: {
+					_pager.closeCursor();
+					_pager._thread.quit();
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>ContactsPagerListener</code> interface receives notifications about pages loaded by a {@link ContactsPager}.
+ * @see Contacts#createPager(int, int, ContactsPagerListener)
+ */
+@SuppressWarnings("unused")
+public interface ContactsPagerListener {
+
+	/**
+	 * <p>
+	 * Called when the contact list was read again, either for the first time or because it has changed.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread. The number of contacts may have changed, and the contacts at any position
+	 * may be different, so the whole list should be refreshed, for example with <code>notifyDataSetChanged()</code>.
+	 * </p>
+	 *
+	 * @param pager The pager.
+	 * @see ContactsPager#getCount()
+	 */
+	void onContactsPagerReset(@NonNull ContactsPager pager);
+
+	/**
+	 * <p>
+	 * Called when a page of contacts has been loaded.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param pager The pager.
+	 * @param position Position of the first contact on the page.
+	 * @param count Number of contacts on the page.
+	 */
+	void onContactsPageLoaded(@NonNull ContactsPager pager, int position, int count);
+
+}
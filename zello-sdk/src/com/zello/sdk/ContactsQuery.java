@@ -0,0 +1,217 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>ContactsQuery</code> class describes which columns and which contacts the SDK reads from the ZelloWork app.
+ * </p>
+ * <p>
+ *     By default, all columns of all contacts are read. Narrowing the query down to the data the app actually shows
+ *     reduces the amount of data transferred from the ZelloWork app every time the contact list changes.
+ *     Columns that are not requested are returned as <code>null</code> or <code>0</code> by <code>Contact</code> and
+ *     <code>ContactsSnapshot</code> getters. Name and type of the contact are always read.
+ * </p>
+ * <p>
+ *     Filters are passed to the ZelloWork app as a selection. If the app doesn't support a selection,
+ *     the SDK reads all contacts and applies the filters itself, so the result is the same either way.
+ * </p>
+ * @see Zello#setContactsQuery(ContactsQuery)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ContactsQuery {
+
+	/**
+	 * Full name of the contact.
+	 * @see Contact#getFullName()
+	 */
+	public static final int COLUMN_FULL_NAME = 1;
+	/**
+	 * Display name of the contact.
+	 * @see Contact#getDisplayName()
+	 */
+	public static final int COLUMN_DISPLAY_NAME = 1 << 1;
+	/**
+	 * Status of the contact.
+	 * @see Contact#getStatus()
+	 */
+	public static final int COLUMN_STATUS = 1 << 2;
+	/**
+	 * Status message of the contact.
+	 * @see Contact#getStatusMessage()
+	 */
+	public static final int COLUMN_STATUS_MESSAGE = 1 << 3;
+	/**
+	 * Number of online users.
+	 * @see Contact#getUsersCount()
+	 */
+	public static final int COLUMN_USERS_COUNT = 1 << 4;
+	/**
+	 * Total number of users.
+	 * @see Contact#getUsersTotal()
+	 */
+	public static final int COLUMN_USERS_TOTAL = 1 << 5;
+	/**
+	 * Title of the contact.
+	 * @see Contact#getTitle()
+	 */
+	public static final int COLUMN_TITLE = 1 << 6;
+	/**
+	 * Muted state of the contact.
+	 * @see Contact#getMuted()
+	 */
+	public static final int COLUMN_MUTED = 1 << 7;
+	/**
+	 * No disconnect setting of the contact.
+	 * @see Contact#getNoDisconnect()
+	 */
+	public static final int COLUMN_NO_DISCONNECT = 1 << 8;
+	/**
+	 * All columns.
+	 */
+	public static final int COLUMN_ALL = (1 << 9) - 1;
+
+	//region Package Private Properties
+
+	int _columns = COLUMN_ALL;
+	int _types; // Bit mask of ContactType ordinals; 0 means all types
+	boolean _onlineOnly;
+	boolean _unmutedOnly;
+
+	//endregion
+
+	/**
+	 * <p>
+	 *     Resets the <code>ContactsQuery</code> instance back to the default values.
+	 * </p>
+	 * <p>
+	 *     The default query reads all columns of all contacts.
+	 * </p>
+	 * @return This <code>ContactsQuery</code>.
+	 */
+	public @NonNull ContactsQuery reset() {
+		_columns = COLUMN_ALL;
+		_types = 0;
+		_onlineOnly = false;
+		_unmutedOnly = false;
+		return this;
+	}
+
+	@Override
+	public @NonNull ContactsQuery clone() {
+		ContactsQuery query = new ContactsQuery();
+		copyTo(query);
+		return query;
+	}
+
+	/**
+	 * Sets the columns to read.
+	 * @param columns Combination of <code>COLUMN_*</code> flags.
+	 * @return This <code>ContactsQuery</code>.
+	 */
+	public @NonNull ContactsQuery setColumns(int columns) {
+		_columns = columns & COLUMN_ALL;
+		return this;
+	}
+
+	/**
+	 * Returns the columns to read.
+	 * @return Combination of <code>COLUMN_*</code> flags.
+	 */
+	public int getColumns() {
+		return _columns;
+	}
+
+	/**
+	 * Limits the query to the contacts of the specified types.
+	 * @param types Types of contacts to read. Pass <code>null</code> or an empty array to read contacts of all types.
+	 * @return This <code>ContactsQuery</code>.
+	 */
+	public @NonNull ContactsQuery setTypes(@Nullable ContactType... types) {
+		int mask = 0;
+		if (types != null) {
+			for (ContactType type : types) {
+				if (type != null) {
+					mask |= 1 << type.ordinal();
+				}
+			}
+		}
+		_types = mask;
+		return this;
+	}
+
+	/**
+	 * Checks if contacts of the specified type are read.
+	 * @param type Type of contacts.
+	 * @return true if contacts of the type are read.
+	 */
+	public boolean hasType(@NonNull ContactType type) {
+		return _types == 0 || (_types & (1 << type.ordinal())) != 0;
+	}
+
+	/**
+	 * Limits the query to the contacts that are not offline.
+	 * @param onlineOnly Only read the contacts whose status is not {@link ContactStatus#OFFLINE}.
+	 * @return This <code>ContactsQuery</code>.
+	 */
+	public @NonNull ContactsQuery setOnlineOnly(boolean onlineOnly) {
+		_onlineOnly = onlineOnly;
+		return this;
+	}
+
+	/**
+	 * Returns whether the query is limited to the contacts that are not offline.
+	 * @return true if offline contacts are skipped.
+	 */
+	public boolean getOnlineOnly() {
+		return _onlineOnly;
+	}
+
+	/**
+	 * Limits the query to the contacts that are not muted.
+	 * @param unmutedOnly Only read the contacts that are not muted.
+	 * @return This <code>ContactsQuery</code>.
+	 */
+	public @NonNull ContactsQuery setUnmutedOnly(boolean unmutedOnly) {
+		_unmutedOnly = unmutedOnly;
+		return this;
+	}
+
+	/**
+	 * Returns whether the query is limited to the contacts that are not muted.
+	 * @return true if muted contacts are skipped.
+	 */
+	public boolean getUnmutedOnly() {
+		return _unmutedOnly;
+	}
+
+	//region Package Private Methods
+
+	void copyTo(@Nullable ContactsQuery query) {
+		if (query == null) {
+			return;
+		}
+		query._columns = _columns;
+		query._types = _types;
+		query._onlineOnly = _onlineOnly;
+		query._unmutedOnly = _unmutedOnly;
+	}
+
+	/**
+	 * Check if the query reads everything.
+	 */
+	boolean isDefault() {
+		return _columns == COLUMN_ALL && _types == 0 && !_onlineOnly && !_unmutedOnly;
+	}
+
+	/**
+	 * Check if a contact passes the filters.
+	 */
+	boolean accepts(@NonNull ContactType type, @NonNull ContactStatus status, boolean muted) {
+		return hasType(type) && (!_onlineOnly || status != ContactStatus.OFFLINE) && (!_unmutedOnly || !muted);
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,354 @@
+package com.zello.sdk;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Search index over contact names of a single {@link ContactsSnapshot}.
+ * <p>
+ * Prefix queries use a sorted array of lower case name keys that includes every word of every name.
+ * Substring queries use a trigram index that narrows the search down to a short list of candidates.
+ * When built from the index of the previous snapshot, only the contacts whose names changed are
+ * lower cased and sorted again; the rest is merged in from the previous index.
+ * </p>
+ */
+class ContactsSearchIndex {
+
+	private static final int[] _noInts = new int[0];
+
+	private final @NonNull ContactsSnapshot _snapshot;
+	// Lower case display name, full name and name of every row; null when missing or a duplicate
+	private final @NonNull String[][] _keys;
+	// Sorted keys and word suffixes of keys, with the rows they belong to
+	private final @NonNull String[] _prefixKeys;
+	private final @NonNull int[] _prefixRows;
+	// Open addressing hash table of trigrams mapped to lists of rows that contain them; 0 marks an empty slot
+	private final @NonNull long[] _grams;
+	private final @NonNull int[] _gramIds;
+	private final @NonNull int[][] _gramRows;
+
+	/**
+	 * Build an index.
+	 *
+	 * @param snapshot Snapshot to index
+	 * @param previous Index of the previous snapshot; data of contacts with unchanged names is taken from it
+	 */
+	ContactsSearchIndex(@NonNull ContactsSnapshot snapshot, @Nullable ContactsSearchIndex previous) {
+		_snapshot = snapshot;
+		int count = snapshot.getCount();
+		_keys = new String[count][];
+		// Map rows of the previous snapshot to the rows of this one
+		int[] oldToNew = previous != null ? new int[previous._keys.length] : _noInts;
+		Arrays.fill(oldToNew, -1);
+		BitSet fresh = new BitSet(count);
+		for (int row = 0; row < count; ++row) {
+			int old = previous != null ? previous.findUnchanged(snapshot, row) : -1;
+			if (old >= 0 && oldToNew[old] < 0) {
+				oldToNew[old] = row;
+				_keys[row] = previous._keys[old];
+			} else {
+				_keys[row] = makeKeys(snapshot, row);
+				fresh.set(row);
+			}
+		}
+		// Prefix table
+		int freshCount = 0;
+		for (int row = fresh.nextSetBit(0); row >= 0; row = fresh.nextSetBit(row + 1)) {
+			for (String key : _keys[row]) {
+				freshCount += key != null ? countWords(key) : 0;
+			}
+		}
+		Entry[] entries = new Entry[freshCount];
+		int e = 0;
+		for (int row = fresh.nextSetBit(0); row >= 0; row = fresh.nextSetBit(row + 1)) {
+			for (String key : _keys[row]) {
+				if (key == null) {
+					continue;
+				}
+				for (int start = 0; start >= 0; start = nextWord(key, start)) {
+					entries[e++] = new Entry(start == 0 ? key : key.substring(start), row);
+				}
+			}
+		}
+		Arrays.sort(entries);
+		String[] oldKeys = previous != null ? previous._prefixKeys : new String[0];
+		int[] oldRows = previous != null ? previous._prefixRows : _noInts;
+		int keptCount = 0;
+		for (int row : oldRows) {
+			if (oldToNew[row] >= 0) {
+				++keptCount;
+			}
+		}
+		_prefixKeys = new String[keptCount + freshCount];
+		_prefixRows = new int[keptCount + freshCount];
+		// Merge entries of unchanged contacts, which are already sorted, with the new ones
+		int i = 0;
+		int k = 0;
+		e = 0;
+		while (k < oldKeys.length || e < freshCount) {
+			if (k < oldKeys.length && oldToNew[oldRows[k]] < 0) {
+				++k;
+			} else if (e == freshCount || (k < oldKeys.length && oldKeys[k].compareTo(entries[e].key) <= 0)) {
+				_prefixKeys[i] = oldKeys[k];
+				_prefixRows[i++] = oldToNew[oldRows[k++]];
+			} else {
+				_prefixKeys[i] = entries[e].key;
+				_prefixRows[i++] = entries[e++].row;
+			}
+		}
+		// Trigram table
+		int total = 0;
+		for (String[] keys : _keys) {
+			for (String key : keys) {
+				total += key != null && key.length() >= 3 ? key.length() - 2 : 0;
+			}
+		}
+		long[] grams = new long[64];
+		int[] gramIds = new int[64];
+		int[] sizes = new int[16];
+		int[] lastRows = new int[16];
+		int gramCount = 0;
+		// Trigram ids and rows in the order they were found, without repeats within a row
+		int[] ids = new int[total];
+		int[] rows = new int[total];
+		int n = 0;
+		for (int row = 0; row < count; ++row) {
+			for (String key : _keys[row]) {
+				if (key == null) {
+					continue;
+				}
+				for (int j = 0; j + 3 <= key.length(); ++j) {
+					long gram = gram(key, j);
+					int slot = slot(grams, gram);
+					int id;
+					if (grams[slot] == 0) {
+						if (gramCount == sizes.length) {
+							sizes = Arrays.copyOf(sizes, gramCount * 2);
+							lastRows = Arrays.copyOf(lastRows, gramCount * 2);
+						}
+						if (gramCount * 2 >= grams.length) {
+							// Keep the load factor at or below 0.5
+							long[] newGrams = new long[grams.length * 2];
+							int[] newGramIds = new int[grams.length * 2];
+							for (int g = 0; g < grams.length; ++g) {
+								if (grams[g] != 0) {
+									int to = slot(newGrams, grams[g]);
+									newGrams[to] = grams[g];
+									newGramIds[to] = gramIds[g];
+								}
+							}
+							grams = newGrams;
+							gramIds = newGramIds;
+							slot = slot(grams, gram);
+						}
+						id = gramCount++;
+						grams[slot] = gram;
+						gramIds[slot] = id;
+						lastRows[id] = -1;
+					} else {
+						id = gramIds[slot];
+					}
+					if (lastRows[id] != row) {
+						lastRows[id] = row;
+						++sizes[id];
+						ids[n] = id;
+						rows[n++] = row;
+					}
+				}
+			}
+		}
+		int[][] gramRows = new int[gramCount][];
+		for (int id = 0; id < gramCount; ++id) {
+			gramRows[id] = new int[sizes[id]];
+			sizes[id] = 0;
+		}
+		for (int j = 0; j < n; ++j) {
+			int id = ids[j];
+			gramRows[id][sizes[id]++] = rows[j];
+		}
+		_grams = grams;
+		_gramIds = gramIds;
+		_gramRows = gramRows;
+	}
+
+	/**
+	 * Find contacts whose display name, full name or name contains the query.
+	 * Contacts with a word that starts with the query are returned first.
+	 *
+	 * @param query Search query
+	 * @param limit Maximum number of results
+	 * @return Rows of the matching contacts
+	 */
+	@NonNull int[] search(@Nullable String query, int limit) {
+		String q = Util.toLowerCaseLexicographically(query);
+		if (q == null || q.isEmpty() || limit <= 0) {
+			return _noInts;
+		}
+		int[] results = new int[Math.min(limit, _keys.length)];
+		int found = 0;
+		BitSet seen = new BitSet(_keys.length);
+		// Prefix matches
+		int lo = 0;
+		int hi = _prefixKeys.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (_prefixKeys[mid].compareTo(q) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		for (int i = lo; i < _prefixKeys.length && found < results.length && _prefixKeys[i].startsWith(q); ++i) {
+			int row = _prefixRows[i];
+			if (!seen.get(row)) {
+				seen.set(row);
+				results[found++] = row;
+			}
+		}
+		// Substring matches
+		if (found < results.length) {
+			int[] candidates = q.length() >= 3 ? candidates(q) : null;
+			int n = candidates != null ? candidates.length : _keys.length;
+			for (int i = 0; i < n && found < results.length; ++i) {
+				int row = candidates != null ? candidates[i] : i;
+				if (!seen.get(row) && contains(_keys[row], q)) {
+					seen.set(row);
+					results[found++] = row;
+				}
+			}
+		}
+		return found == results.length ? results : Arrays.copyOf(results, found);
+	}
+
+	//region Private Methods
+
+	/**
+	 * Find the row of the same contact in this index if its names didn't change.
+	 *
+	 * @return Row in the snapshot of this index or -1
+	 */
+	private int findUnchanged(@NonNull ContactsSnapshot snapshot, int row) {
+		int old = _snapshot.indexOf(snapshot.getName(row), snapshot.getType(row));
+		if (old < 0) {
+			return -1;
+		}
+		if (!same(_snapshot.getDisplayName(old), snapshot.getDisplayName(row)) || !same(_snapshot.getFullName(old), snapshot.getFullName(row))) {
+			return -1;
+		}
+		return old;
+	}
+
+	/**
+	 * Return the shortest row list among the trigrams of the query.
+	 */
+	private @NonNull int[] candidates(@NonNull String q) {
+		int[] best = null;
+		for (int i = 0; i + 3 <= q.length(); ++i) {
+			long gram = gram(q, i);
+			int slot = slot(_grams, gram);
+			if (_grams[slot] != gram) {
+				return _noInts;
+			}
+			int[] rows = _gramRows[_gramIds[slot]];
+			if (best == null || rows.length < best.length) {
+				best = rows;
+			}
+		}
+		return best != null ? best : _noInts;
+	}
+
+	private static @NonNull String[] makeKeys(@NonNull ContactsSnapshot snapshot, int row) {
+		String displayName = Util.toLowerCaseLexicographically(Util.nullIfEmpty(snapshot.getDisplayName(row)));
+		String fullName = Util.toLowerCaseLexicographically(Util.nullIfEmpty(snapshot.getFullName(row)));
+		String name = Util.toLowerCaseLexicographically(Util.nullIfEmpty(snapshot.getName(row)));
+		if (fullName != null && fullName.equals(displayName)) {
+			fullName = null;
+		}
+		if (name != null && (name.equals(displayName) || name.equals(fullName))) {
+			name = null;
+		}
+		return new String[]{displayName, fullName, name};
+	}
+
+	private static boolean contains(@NonNull String[] keys, @NonNull String q) {
+		for (String key : keys) {
+			if (key != null && key.contains(q)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int countWords(@NonNull String key) {
+		int n = 0;
+		for (int start = 0; start >= 0; start = nextWord(key, start)) {
+			++n;
+		}
+		return n;
+	}
+
+	/**
+	 * Find the start of the next word.
+	 *
+	 * @return Index of the first character of the next word or -1
+	 */
+	private static int nextWord(@NonNull String key, int start) {
+		int n = key.length();
+		int i = start;
+		while (i < n && Character.isLetterOrDigit(key.charAt(i))) {
+			++i;
+		}
+		while (i < n && !Character.isLetterOrDigit(key.charAt(i))) {
+			++i;
+		}
+		return i < n ? i : -1;
+	}
+
+	/**
+	 * Pack three characters into a non-zero number.
+	 */
+	private static long gram(@NonNull String s, int i) {
+		return (1L << 48) | ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | (long) s.charAt(i + 2);
+	}
+
+	/**
+	 * Find the slot of a trigram or the empty slot where it should go.
+	 */
+	private static int slot(@NonNull long[] table, long gram) {
+		int mask = table.length - 1;
+		int h = (int) (gram ^ (gram >>> 21) ^ (gram >>> 37)) * 0x9E3779B9;
+		int slot = (h ^ (h >>> 16)) & mask;
+		while (table[slot] != 0 && table[slot] != gram) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static boolean same(@Nullable String a, @Nullable String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	//endregion
+
+	private static class Entry implements Comparable<Entry> {
+
+		final @NonNull String key;
+		final int row;
+
+		Entry(@NonNull String key, int row) {
+			this.key = key;
+			this.row = row;
+		}
+
+		@Override
+		public int compareTo(@NonNull Entry other) {
+			int c = key.compareTo(other.key);
+			return c != 0 ? c : row - other.row;
+		}
+
+	}
+
+}
@@ -0,0 +1,665 @@
+package com.zello.sdk;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import java.util.BitSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>ContactsSnapshot</code> class is an immutable copy of the contact list taken at a single point in time.
+ * </p>
+ * <p>
+ *     The snapshot is read from the ZelloWork app once and stored in a compact columnar form.
+ *     Index-based accessors such as {@link #getName(int)} or {@link #getStatus(int)} don't allocate any objects,
+ *     which makes the snapshot suitable for binding large lists. Use {@link #getItem(int)} when a standalone
+ *     {@link Contact} object is needed.
+ * </p>
+ * <p>
+ *     Snapshots are thread safe and can be freely passed between threads.
+ * </p>
+ * @see Contacts#getSnapshot()
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ContactsSnapshot {
+
+	//region Private Properties
+
+	private static final ContactType[] _types = ContactType.values();
+	private static final ContactStatus[] _statuses = ContactStatus.values();
+	private static final String[] _noStrings = new String[0];
+	private static final int[] _noInts = new int[0];
+
+	private static final String _columnName = "name";
+	private static final String _columnFullName = "fullname";
+	private static final String _columnDisplayName = "displayname";
+	private static final String _columnStatusMessage = "statusmessage";
+	private static final String _columnType = "type";
+	private static final String _columnStatus = "status";
+	private static final String _columnUsersCount = "userscount";
+	private static final String _columnUsersTotal = "userstotal";
+	private static final String _columnTitle = "title";
+	private static final String _columnMuted = "muted";
+	private static final String _columnNoDisconnect = "nodisconnect";
+
+	private static final @NonNull ContactsSnapshot _empty = new ContactsSnapshot(0);
+
+	private final int _count;
+	private final @NonNull String[] _names;
+	private final @NonNull String[] _fullNames;
+	private final @NonNull String[] _displayNames;
+	private final @NonNull String[] _statusMessages;
+	private final @NonNull String[] _titles;
+	private final @NonNull int[] _typeOrdinals;
+	private final @NonNull int[] _statusOrdinals;
+	private final @NonNull int[] _usersCounts;
+	private final @NonNull int[] _usersTotals;
+	private final @NonNull BitSet _muted;
+	private final @NonNull BitSet _noDisconnect;
+	// Open addressing hash tables of row + 1 keyed by name and type; 0 marks an empty slot
+	private @NonNull int[] _nameIndex = _noInts;
+	private @NonNull int[] _nameIndexIgnoreCase = _noInts;
+	private volatile @Nullable ContactsSearchIndex _searchIndex; // Built on first search
+
+	//endregion
+
+	//region Package Private Methods
+
+	private ContactsSnapshot(int count) {
+		_count = count;
+		_names = count > 0 ? new String[count] : _noStrings;
+		_fullNames = count > 0 ? new String[count] : _noStrings;
+		_displayNames = count > 0 ? new String[count] : _noStrings;
+		_statusMessages = count > 0 ? new String[count] : _noStrings;
+		_titles = count > 0 ? new String[count] : _noStrings;
+		_typeOrdinals = count > 0 ? new int[count] : _noInts;
+		_statusOrdinals = count > 0 ? new int[count] : _noInts;
+		_usersCounts = count > 0 ? new int[count] : _noInts;
+		_usersTotals = count > 0 ? new int[count] : _noInts;
+		_muted = new BitSet(count);
+		_noDisconnect = new BitSet(count);
+	}
+
+	static @NonNull ContactsSnapshot empty() {
+		return _empty;
+	}
+
+	/**
+	 * Read all rows of a contacts cursor.
+	 *
+	 * @param cursor Cursor returned by the ZelloWork app contacts provider
+	 * @return Snapshot of the cursor data or an empty snapshot if the cursor can't be read
+	 */
+	static @NonNull ContactsSnapshot fromCursor(@Nullable Cursor cursor) {
+		return fromCursor(cursor, null);
+	}
+
+	/**
+	 * Read the rows of a contacts cursor that pass the filters of a query.
+	 * Filters are applied even if the cursor was opened with the query selection in case the provider ignored it.
+	 *
+	 * @param cursor Cursor returned by the ZelloWork app contacts provider
+	 * @param query Query with the filters to apply; null to read all rows
+	 * @return Snapshot of the cursor data or an empty snapshot if the cursor can't be read
+	 */
+	static @NonNull ContactsSnapshot fromCursor(@Nullable Cursor cursor, @Nullable ContactsQuery query) {
+		return fromCursor(cursor, query, 0, Integer.MAX_VALUE, true);
+	}
+
+	/**
+	 * Read a page of rows of a contacts cursor.
+	 * Pages are only accessed by position, so the name indexes are not built and name lookups on a page find nothing.
+	 *
+	 * @param cursor Cursor returned by the ZelloWork app contacts provider
+	 * @param start Position of the first row to read
+	 * @param limit Maximum number of rows to read
+	 * @return Snapshot of the cursor data or an empty snapshot if the cursor can't be read
+	 */
+	static @NonNull ContactsSnapshot pageFromCursor(@Nullable Cursor cursor, int start, int limit) {
+		return fromCursor(cursor, null, start, limit, false);
+	}
+
+	private static @NonNull ContactsSnapshot fromCursor(@Nullable Cursor cursor, @Nullable ContactsQuery query, int start, int limit, boolean indexed) {
+		if (cursor == null || start < 0) {
+			return _empty;
+		}
+		try {
+			int count = Math.min(cursor.getCount() - start, limit);
+			if (count <= 0) {
+				return _empty;
+			}
+			StringPool.reserve(cursor.getCount());
+			int indexName = cursor.getColumnIndex(_columnName);
+			int indexFullName = cursor.getColumnIndex(_columnFullName);
+			int indexDisplayName = cursor.getColumnIndex(_columnDisplayName);
+			int indexStatusMessage = cursor.getColumnIndex(_columnStatusMessage);
+			int indexType = cursor.getColumnIndex(_columnType);
+			int indexStatus = cursor.getColumnIndex(_columnStatus);
+			int indexUsersCount = cursor.getColumnIndex(_columnUsersCount);
+			int indexUsersTotal = cursor.getColumnIndex(_columnUsersTotal);
+			int indexTitle = cursor.getColumnIndex(_columnTitle);
+			int indexMuted = cursor.getColumnIndex(_columnMuted);
+			int indexNoDisconnect = cursor.getColumnIndex(_columnNoDisconnect); // Not available if the client app is old - has to be at least 3.19
+			ContactsSnapshot snapshot = new ContactsSnapshot(count);
+			int row = 0;
+			int scanned = 0;
+			if (cursor.moveToPosition(start)) {
+				do {
+					ContactType type = Sdk.intToContactType(getInt(cursor, indexType));
+					ContactStatus status = Sdk.intToContactStatus(getInt(cursor, indexStatus));
+					boolean muted = getInt(cursor, indexMuted) != 0;
+					if (query != null && !query.accepts(type, status, muted)) {
+						continue;
+					}
+					snapshot._names[row] = StringPool.intern(getString(cursor, indexName));
+					snapshot._fullNames[row] = StringPool.intern(getString(cursor, indexFullName));
+					snapshot._displayNames[row] = StringPool.intern(getString(cursor, indexDisplayName));
+					snapshot._typeOrdinals[row] = type.ordinal();
+					snapshot._statusOrdinals[row] = status.ordinal();
+					snapshot._titles[row] = StringPool.intern(getString(cursor, indexTitle));
+					if (muted) {
+						snapshot._muted.set(row);
+					}
+					switch (type) {
+						case USER:
+						case GATEWAY: {
+							snapshot._statusMessages[row] = StringPool.intern(getString(cursor, indexStatusMessage));
+							break;
+						}
+						case CHANNEL: {
+							snapshot._usersCounts[row] = getInt(cursor, indexUsersCount);
+							break;
+						}
+						case GROUP:
+						case CONVERSATION: {
+							snapshot._usersCounts[row] = getInt(cursor, indexUsersCount);
+							snapshot._usersTotals[row] = getInt(cursor, indexUsersTotal);
+							break;
+						}
+					}
+					if ((type != ContactType.CHANNEL && type != ContactType.GROUP && type != ContactType.CONVERSATION) || getInt(cursor, indexNoDisconnect) != 0) {
+						snapshot._noDisconnect.set(row);
+					}
+					++row;
+				} while (++scanned < count && cursor.moveToNext());
+			}
+			if (row != count) {
+				snapshot = snapshot.truncate(row);
+			}
+			if (indexed) {
+				snapshot.buildIndexes();
+			}
+			return snapshot;
+		} catch (Throwable t) {
+			Log.i("zello sdk", "Error in ContactsSnapshot.fromCursor: " + t.toString());
+		}
+		return _empty;
+	}
+
+	/**
+	 * Build the list of columns to request from the provider.
+	 *
+	 * @return Column names or null to request all columns
+	 */
+	static @Nullable String[] getProjection(@Nullable ContactsQuery query) {
+		if (query == null) {
+			return null;
+		}
+		int columns = query._columns;
+		if (query._onlineOnly) {
+			columns |= ContactsQuery.COLUMN_STATUS;
+		}
+		if (query._unmutedOnly) {
+			columns |= ContactsQuery.COLUMN_MUTED;
+		}
+		if (columns == ContactsQuery.COLUMN_ALL) {
+			return null;
+		}
+		String[] all = {_columnFullName, _columnDisplayName, _columnStatus, _columnStatusMessage, _columnUsersCount, _columnUsersTotal, _columnTitle, _columnMuted, _columnNoDisconnect};
+		String[] projection = new String[2 + Integer.bitCount(columns)];
+		int n = 0;
+		projection[n++] = _columnName;
+		projection[n++] = _columnType;
+		for (int i = 0; i < all.length; ++i) {
+			if ((columns & (1 << i)) != 0) {
+				projection[n++] = all[i];
+			}
+		}
+		return projection;
+	}
+
+	/**
+	 * Build the provider selection that matches the filters of a query.
+	 *
+	 * @return Selection or null to select all rows
+	 */
+	static @Nullable String getSelection(@Nullable ContactsQuery query) {
+		if (query == null) {
+			return null;
+		}
+		StringBuilder selection = new StringBuilder();
+		if (query._types != 0) {
+			selection.append(_columnType).append(" IN (");
+			for (ContactType type : _types) {
+				if (query.hasType(type)) {
+					selection.append(selection.charAt(selection.length() - 1) == '(' ? "?" : ",?");
+				}
+			}
+			selection.append(")");
+		}
+		if (query._onlineOnly) {
+			selection.append(selection.length() > 0 ? " AND " : "").append(_columnStatus).append(" <> ?");
+		}
+		if (query._unmutedOnly) {
+			selection.append(selection.length() > 0 ? " AND " : "").append(_columnMuted).append(" = ?");
+		}
+		return selection.length() > 0 ? selection.toString() : null;
+	}
+
+	/**
+	 * Build the arguments of the selection returned by {@link #getSelection(ContactsQuery)}.
+	 */
+	static @Nullable String[] getSelectionArgs(@Nullable ContactsQuery query) {
+		if (query == null) {
+			return null;
+		}
+		int count = (query._types != 0 ? Integer.bitCount(query._types) : 0) + (query._onlineOnly ? 1 : 0) + (query._unmutedOnly ? 1 : 0);
+		if (count == 0) {
+			return null;
+		}
+		String[] args = new String[count];
+		int n = 0;
+		if (query._types != 0) {
+			for (ContactType type : _types) {
+				if (query.hasType(type)) {
+					args[n++] = Integer.toString(Sdk.contactTypeToInt(type));
+				}
+			}
+		}
+		if (query._onlineOnly) {
+			args[n++] = "0";
+		}
+		if (query._unmutedOnly) {
+			args[n++] = "0";
+		}
+		return args;
+	}
+
+	//endregion
+
+	//region Public Methods
+
+	/**
+	 * Returns the number of contacts in the snapshot.
+	 * @return the number of contacts.
+	 */
+	public int getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the identifying name of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return Name of the contact.
+	 * @see Contact#getName()
+	 */
+	public @Nullable String getName(int index) {
+		return _names[index];
+	}
+
+	/**
+	 * Returns the full name of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return Nullable; Full name of the contact.
+	 * @see Contact#getFullName()
+	 */
+	public @Nullable String getFullName(int index) {
+		return _fullNames[index];
+	}
+
+	/**
+	 * Returns the display name of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return Nullable; Display name of the contact.
+	 * @see Contact#getDisplayName()
+	 */
+	public @Nullable String getDisplayName(int index) {
+		return _displayNames[index];
+	}
+
+	/**
+	 * Returns the <code>ContactType</code> of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return <code>ContactType</code> of the contact.
+	 * @see Contact#getType()
+	 */
+	public @NonNull ContactType getType(int index) {
+		return _types[_typeOrdinals[index]];
+	}
+
+	/**
+	 * Returns the <code>ContactStatus</code> of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return <code>ContactStatus</code> of the contact.
+	 * @see Contact#getStatus()
+	 */
+	public @NonNull ContactStatus getStatus(int index) {
+		return _statuses[_statusOrdinals[index]];
+	}
+
+	/**
+	 * Returns the custom status message of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return Nullable; The status message of the contact.
+	 * @see Contact#getStatusMessage()
+	 */
+	public @Nullable String getStatusMessage(int index) {
+		return _statusMessages[index];
+	}
+
+	/**
+	 * Returns the number of online users in the channel at the specified index.
+	 * @param index Index of the contact.
+	 * @return number of online users.
+	 * @see Contact#getUsersCount()
+	 */
+	public int getUsersCount(int index) {
+		return _usersCounts[index];
+	}
+
+	/**
+	 * Returns the number of total users in the channel at the specified index.
+	 * @param index Index of the contact.
+	 * @return number of total users.
+	 * @see Contact#getUsersTotal()
+	 */
+	public int getUsersTotal(int index) {
+		return _usersTotals[index];
+	}
+
+	/**
+	 * Returns the title of the contact at the specified index.
+	 * @param index Index of the contact.
+	 * @return Nullable; The title of the contact.
+	 * @see Contact#getTitle()
+	 */
+	public @Nullable String getTitle(int index) {
+		return _titles[index];
+	}
+
+	/**
+	 * Returns whether the contact at the specified index is muted.
+	 * @param index Index of the contact.
+	 * @return boolean indicating if the contact is muted.
+	 * @see Contact#getMuted()
+	 */
+	public boolean getMuted(int index) {
+		return _muted.get(index);
+	}
+
+	/**
+	 * Returns whether the channel at the specified index has the no disconnect setting enabled.
+	 * @param index Index of the contact.
+	 * @return boolean indicating if the contact has the no disconnect setting enabled.
+	 * @see Contact#getNoDisconnect()
+	 */
+	public boolean getNoDisconnect(int index) {
+		return _noDisconnect.get(index);
+	}
+
+	/**
+	 * <p>
+	 *     Returns the index of the contact with the specified name and type.
+	 * </p>
+	 * <p>
+	 *     The lookup uses a hash index built together with the snapshot and takes constant time.
+	 * </p>
+	 * @param name Name of the contact, as returned by {@link Contact#getName()}.
+	 * @param type Type of the contact.
+	 * @return Index of the contact or <code>-1</code> if the contact is not found.
+	 * @see #indexOfIgnoreCase(String, ContactType)
+	 */
+	public int indexOf(@Nullable String name, @NonNull ContactType type) {
+		int[] table = _nameIndex;
+		if (name == null || table.length == 0) {
+			return -1;
+		}
+		int mask = table.length - 1;
+		int typeOrdinal = type.ordinal();
+		for (int slot = mix(name.hashCode(), typeOrdinal) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int row = table[slot] - 1;
+			if (_typeOrdinals[row] == typeOrdinal && name.equals(_names[row])) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>
+	 *     Returns the index of the contact with the specified name and type, ignoring the case of the name.
+	 * </p>
+	 * <p>
+	 *     The lookup uses a hash index built together with the snapshot and takes constant time.
+	 * </p>
+	 * @param name Name of the contact.
+	 * @param type Type of the contact.
+	 * @return Index of the contact or <code>-1</code> if the contact is not found.
+	 * @see #indexOf(String, ContactType)
+	 */
+	public int indexOfIgnoreCase(@Nullable String name, @NonNull ContactType type) {
+		int[] table = _nameIndexIgnoreCase;
+		if (name == null || table.length == 0) {
+			return -1;
+		}
+		int mask = table.length - 1;
+		int typeOrdinal = type.ordinal();
+		for (int slot = mix(hashCodeIgnoreCase(name), typeOrdinal) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int row = table[slot] - 1;
+			if (_typeOrdinals[row] == typeOrdinal && name.equalsIgnoreCase(_names[row])) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>
+	 *     Returns a new <code>Contact</code> object with the data of the contact at the specified index.
+	 * </p>
+	 * <p>
+	 *     Unlike the index-based accessors, this method allocates a new object on every call.
+	 * </p>
+	 * @param index Index of the contact.
+	 * @return Nullable; <code>Contact</code> at the specified index or <code>null</code> if the index is out of range.
+	 */
+	public @Nullable Contact getItem(int index) {
+		if (index < 0 || index >= _count) {
+			return null;
+		}
+		Contact contact = new Contact();
+		copyTo(index, contact);
+		return contact;
+	}
+
+	/**
+	 * <p>
+	 *     Copies the data of the contact at the specified index to an existing <code>Contact</code> object.
+	 * </p>
+	 * <p>
+	 *     This method doesn't allocate any objects.
+	 * </p>
+	 * @param index Index of the contact.
+	 * @param contact Object to receive the contact data.
+	 * @return true if the contact was copied; false if the index is out of range.
+	 */
+	public boolean getItem(int index, @NonNull Contact contact) {
+		if (index < 0 || index >= _count) {
+			return false;
+		}
+		copyTo(index, contact);
+		return true;
+	}
+
+	/**
+	 * <p>
+	 *     Calls the visitor for every contact in the snapshot.
+	 * </p>
+	 * <p>
+	 *     The data of each contact is copied to the supplied <code>Contact</code> object before the visitor is called,
+	 *     so iterating doesn't allocate any objects.
+	 * </p>
+	 * @param visitor Visitor to call.
+	 * @param contact Object to receive the contact data.
+	 */
+	public void forEach(@NonNull ContactVisitor visitor, @NonNull Contact contact) {
+		for (int i = 0; i < _count; ++i) {
+			copyTo(i, contact);
+			if (!visitor.visit(i, contact)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 *     Finds contacts whose display name, full name or name contains the query, ignoring case.
+	 * </p>
+	 * <p>
+	 *     Contacts that have a word starting with the query come first, followed by other contacts that contain the query.
+	 *     The search index is built on the first call and carried over to the following snapshots, where it is
+	 *     updated incrementally, so that search-as-you-type does not scan the whole list on every keystroke.
+	 * </p>
+	 * @param query Text to search for.
+	 * @param limit Maximum number of results.
+	 * @return Indices of the matching contacts.
+	 * @see Contacts#search(String, int)
+	 */
+	public @NonNull int[] search(@Nullable String query, int limit) {
+		return getSearchIndex().search(query, limit);
+	}
+
+	//endregion
+
+	//region Package Private Methods
+
+	/**
+	 * Build the search index right away if the previous snapshot had one, reusing its lower case names.
+	 */
+	void inheritSearchIndex(@Nullable ContactsSnapshot previous) {
+		ContactsSearchIndex index = previous != null ? previous._searchIndex : null;
+		if (index != null && _searchIndex == null) {
+			_searchIndex = new ContactsSearchIndex(this, index);
+		}
+	}
+
+	void copyTo(int index, @NonNull Contact contact) {
+		contact._name = _names[index];
+		contact._fullName = _fullNames[index];
+		contact._displayName = _displayNames[index];
+		contact._type = _types[_typeOrdinals[index]];
+		contact._status = _statuses[_statusOrdinals[index]];
+		contact._statusMessage = _statusMessages[index];
+		contact._usersCount = _usersCounts[index];
+		contact._usersTotal = _usersTotals[index];
+		contact._title = _titles[index];
+		contact._muted = _muted.get(index);
+		contact._noDisconnect = _noDisconnect.get(index);
+	}
+
+	//endregion
+
+	//region Private Methods
+
+	private @NonNull ContactsSearchIndex getSearchIndex() {
+		ContactsSearchIndex index = _searchIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = _searchIndex;
+				if (index == null) {
+					index = new ContactsSearchIndex(this, null);
+					_searchIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	private @NonNull ContactsSnapshot truncate(int count) {
+		if (count <= 0) {
+			return _empty;
+		}
+		ContactsSnapshot snapshot = new ContactsSnapshot(count);
+		System.arraycopy(_names, 0, snapshot._names, 0, count);
+		System.arraycopy(_fullNames, 0, snapshot._fullNames, 0, count);
+		System.arraycopy(_displayNames, 0, snapshot._displayNames, 0, count);
+		System.arraycopy(_statusMessages, 0, snapshot._statusMessages, 0, count);
+		System.arraycopy(_titles, 0, snapshot._titles, 0, count);
+		System.arraycopy(_typeOrdinals, 0, snapshot._typeOrdinals, 0, count);
+		System.arraycopy(_statusOrdinals, 0, snapshot._statusOrdinals, 0, count);
+		System.arraycopy(_usersCounts, 0, snapshot._usersCounts, 0, count);
+		System.arraycopy(_usersTotals, 0, snapshot._usersTotals, 0, count);
+		snapshot._muted.or(_muted.get(0, count));
+		snapshot._noDisconnect.or(_noDisconnect.get(0, count));
+		return snapshot;
+	}
+
+	private void buildIndexes() {
+		if (_count == 0) {
+			return;
+		}
+		int size = Integer.highestOneBit(Math.max(_count, 2) - 1) << 2; // Load factor of at most 0.5
+		int mask = size - 1;
+		int[] exact = new int[size];
+		int[] ignoreCase = new int[size];
+		for (int row = 0; row < _count; ++row) {
+			String name = _names[row];
+			if (name == null) {
+				continue;
+			}
+			int slot = mix(name.hashCode(), _typeOrdinals[row]) & mask;
+			while (exact[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			exact[slot] = row + 1;
+			slot = mix(hashCodeIgnoreCase(name), _typeOrdinals[row]) & mask;
+			while (ignoreCase[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			ignoreCase[slot] = row + 1;
+		}
+		_nameIndex = exact;
+		_nameIndexIgnoreCase = ignoreCase;
+	}
+
+	private static int mix(int hash, int typeOrdinal) {
+		int h = hash * 31 + typeOrdinal;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Compute a hash code that is the same for strings that are equal ignoring case.
+	 * Uses the same case folding as <code>String.equalsIgnoreCase</code>.
+	 */
+	private static int hashCodeIgnoreCase(@NonNull String s) {
+		int h = 0;
+		for (int i = 0, n = s.length(); i < n; ++i) {
+			h = 31 * h + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+		}
+		return h;
+	}
+
+	private static @Nullable String getString(@NonNull Cursor cursor, int index) {
+		return index >= 0 ? cursor.getString(index) : null;
+	}
+
+	private static int getInt(@NonNull Cursor cursor, int index) {
+		return index >= 0 ? cursor.getInt(index) : 0;
+	}
+
+	//endregion
+
+}
@@ -0,0 +1,27 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>ContactsSnapshotListener</code> interface receives contact list snapshots that were queried in background.
+ * @see Zello#subscribeToContactsSnapshots(ContactsSnapshotListener)
+ * @see Zello#setContactsBackgroundQuery(boolean)
+ */
+@SuppressWarnings("unused")
+public interface ContactsSnapshotListener {
+
+	/**
+	 * <p>
+	 * Called when a new snapshot of the contact list has been read from the ZelloWork app.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread. It is only called when background queries are enabled
+	 * with the {@link Zello#setContactsBackgroundQuery(boolean)} method.
+	 * </p>
+	 *
+	 * @param snapshot The new contact list snapshot.
+	 * @see Contacts#getSnapshot()
+	 */
+	void onContactsSnapshotReady(@NonNull ContactsSnapshot snapshot);
+
+}
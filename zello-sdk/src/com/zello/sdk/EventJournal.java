@@ -0,0 +1,77 @@
+package com.zello.sdk;
+
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Fixed capacity ring buffer of recent SDK events.
+ * <p>
+ * Events are stored in parallel arrays that are allocated once, so recording an event doesn't allocate memory.
+ * Names and details are references to strings that already exist, such as intent extras and enum names.
+ * When the journal is full, the oldest event is overwritten.
+ * </p>
+ */
+class EventJournal {
+
+	private static final JournalEventType[] _types = JournalEventType.values();
+
+	private final @NonNull long[] _times;
+	private final @NonNull byte[] _kinds;
+	private final @NonNull String[] _names;
+	private final @NonNull String[] _details;
+	private final @NonNull int[] _values;
+	private long _count; // Number of events recorded so far; guarded by this
+
+	EventJournal(int capacity) {
+		int size = Math.max(capacity, 1);
+		_times = new long[size];
+		_kinds = new byte[size];
+		_names = new String[size];
+		_details = new String[size];
+		_values = new int[size];
+	}
+
+	synchronized void record(@NonNull JournalEventType type, @Nullable String name, @Nullable String detail, int value) {
+		int i = (int) (_count % _times.length);
+		_times[i] = SystemClock.elapsedRealtime();
+		_kinds[i] = (byte) type.ordinal();
+		_names[i] = name;
+		_details[i] = detail;
+		_values[i] = value;
+		++_count;
+	}
+
+	/**
+	 * Copy the events recorded during the specified time.
+	 *
+	 * @param durationMs Age of the oldest event to return; negative to return all events
+	 * @return Events in the order they were recorded
+	 */
+	synchronized @NonNull List<JournalEntry> get(long durationMs) {
+		long since = durationMs >= 0 ? SystemClock.elapsedRealtime() - durationMs : Long.MIN_VALUE;
+		long first = Math.max(_count - _times.length, 0);
+		// Timestamps are monotonic, so find the oldest matching event by walking back from the newest
+		long start = _count;
+		while (start > first && _times[(int) ((start - 1) % _times.length)] >= since) {
+			--start;
+		}
+		List<JournalEntry> entries = new ArrayList<>((int) (_count - start));
+		for (long n = start; n < _count; ++n) {
+			int i = (int) (n % _times.length);
+			JournalEntry entry = new JournalEntry();
+			entry._time = _times[i];
+			entry._type = _types[_kinds[i]];
+			entry._name = _names[i];
+			entry._detail = _details[i];
+			entry._value = _values[i];
+			entries.add(entry);
+		}
+		return entries;
+	}
+
+}
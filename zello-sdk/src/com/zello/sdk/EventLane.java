@@ -0,0 +1,23 @@
+package com.zello.sdk;
+
+/**
+ * The <code>EventLane</code> enum represents the priority lanes that the SDK uses to deliver broadcasts from the ZelloWork app.
+ * @see Zello#getEventLaneStats(EventLane)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public enum EventLane {
+
+	/**
+	 * Message state broadcasts. They are received on a high priority thread, so they don't wait for the UI thread
+	 * to dispatch them, and handled on the UI thread ahead of the work waiting in the low lane. They stay in order
+	 * with app state and selected contact broadcasts.
+	 * On Android 5.1 and later they are not held back while the UI thread waits for the next frame.
+	 */
+	HIGH,
+	/**
+	 * Contact list changes and Bluetooth accessory state broadcasts. They are handled on the UI thread in the order
+	 * they arrived, after the message state broadcasts that are already waiting.
+	 */
+	LOW
+
+}
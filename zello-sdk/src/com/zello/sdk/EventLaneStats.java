@@ -0,0 +1,67 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <p>
+ *     The <code>EventLaneStats</code> class holds the queueing delay statistics of an {@link EventLane}.
+ * </p>
+ * <p>
+ *     The delay is the time between receiving a broadcast and handling it on the UI thread.
+ * </p>
+ * @see Zello#getEventLaneStats(EventLane)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class EventLaneStats {
+
+	//region Package Private Variables
+
+	long _count;
+	long _totalNanos;
+	long _maxNanos;
+
+	//endregion
+
+	/**
+	 * Returns the number of handled broadcasts.
+	 * @return The number of broadcasts.
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the average queueing delay.
+	 * @return Delay in microseconds; <code>0</code> if nothing has been handled yet.
+	 */
+	public long getAverageDelayMicros() {
+		return _count > 0 ? _totalNanos / _count / 1000 : 0;
+	}
+
+	/**
+	 * Returns the longest queueing delay.
+	 * @return Delay in microseconds.
+	 */
+	public long getMaxDelayMicros() {
+		return _maxNanos / 1000;
+	}
+
+	//region Package Private Methods
+
+	void add(long nanos) {
+		++_count;
+		_totalNanos += nanos;
+		_maxNanos = Math.max(_maxNanos, nanos);
+	}
+
+	@NonNull EventLaneStats copy() {
+		EventLaneStats stats = new EventLaneStats();
+		stats._count = _count;
+		stats._totalNanos = _totalNanos;
+		stats._maxNanos = _maxNanos;
+		return stats;
+	}
+
+	//endregion
+
+}
@@ -7,9 +7,15 @@ import androidx.annotation.Nullable;
 
 /**
  * The <code>Events</code> interface enables monitoring of Zello SDK state and property changes
+ * <p>
+ * <code>Events</code> combines all typed listener interfaces. Apps that are only interested in some of the notifications
+ * can implement the specific interfaces, such as {@link MessageStateListener} or {@link ContactsListener}, and subscribe
+ * to them separately, so that they aren't called for anything else.
+ * </p>
  */
 @SuppressWarnings("unused")
-public interface Events {
+public interface Events extends SelectedContactListener, MessageStateListener, AppStateListener, LastContactsTabListener,
+		ContactsListener, AudioStateListener, MicrophonePermissionListener, BluetoothAccessoryListener {
 
 	/**
 	 * <p>
@@ -50,7 +56,8 @@ public interface Events {
 	 * Called when the {@link AppState} changes.
 	 * </p>
 	 * <p>
-	 * This method is invoked on the UI thread.
+	 * This method is invoked on the UI thread. It is not called when the ZelloWork app reports the same state again;
+	 * use {@link AppStateChangeListener} to find out which fields have changed.
 	 * To retrieve the current <code>AppState</code>, call the {@link Zello#getAppState(AppState)} method.
 	 * </p>
 	 *
@@ -0,0 +1,27 @@
+package com.zello.sdk;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The <code>EventsOverflowPolicy</code> enum specifies what happens when callbacks for an <code>Events</code> handler
+ * arrive faster than its <code>Executor</code> runs them, or when values of a {@link StatePublisher}
+ * arrive faster than the subscriber requests them.
+ * @see Zello#subscribeToEvents(Events, Executor, int, EventsOverflowPolicy)
+ * @see StatePublisher#subscribe(StateSubscriber, int, EventsOverflowPolicy)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public enum EventsOverflowPolicy {
+
+	/**
+	 * When the queue is full, the oldest pending callback is dropped.
+	 */
+	DROP_OLDEST,
+	/**
+	 * A callback is not queued if an identical callback is the last one pending; callbacks with arguments replace
+	 * the arguments of the pending one. When the queue is full, an earlier identical callback is dropped in favor
+	 * of the new one, and if there is none, the oldest pending callback is dropped.
+	 * Callbacks are never delivered in a different order than they arrived, and the handler reads the latest state.
+	 */
+	CONFLATE
+
+}
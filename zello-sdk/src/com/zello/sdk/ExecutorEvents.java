@@ -0,0 +1,244 @@
+package com.zello.sdk;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <code>Events</code> handler that runs the callbacks of another handler on an <code>Executor</code>.
+ * <p>
+ * Callbacks are queued in a bounded queue and run one at a time in the order they arrived, so the target
+ * handler never sees two callbacks at once even on a multi-threaded executor. State is not copied for every
+ * handler: getters such as {@link Zello#getAppState(AppState)} read immutable copies that the SDK publishes
+ * once per change.
+ * </p>
+ */
+class ExecutorEvents implements Events, ListenerWrapper {
+
+	private static final int SELECTED_CONTACT = 0;
+	private static final int MESSAGE_STATE = 1;
+	private static final int APP_STATE = 2;
+	private static final int LAST_CONTACTS_TAB = 3;
+	private static final int CONTACTS = 4;
+	private static final int AUDIO_STATE = 5;
+	private static final int MICROPHONE_PERMISSION = 6;
+	private static final int BLUETOOTH_ACCESSORY = 7;
+
+	private final @NonNull Events _target;
+	private final @NonNull Executor _executor;
+	private final int _capacity;
+	private final @NonNull EventsOverflowPolicy _policy;
+	private final @NonNull ArrayDeque<Item> _queue = new ArrayDeque<>(); // Guarded by itself
+	private boolean _scheduled; // Guarded by _queue
+	private volatile boolean _closed;
+	private final @NonNull Runnable _drain = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
+
+	ExecutorEvents(@NonNull Events target, @NonNull Executor executor, int capacity, @NonNull EventsOverflowPolicy policy) {
+		_target = target;
+		_executor = executor;
+		_capacity = Math.max(capacity, 1);
+		_policy = policy;
+	}
+
+	@Override
+	public @NonNull Object getTarget() {
+		return _target;
+	}
+
+	@Override
+	public void close() {
+		_closed = true;
+		synchronized (_queue) {
+			_queue.clear();
+		}
+	}
+
+	@Override
+	public void onSelectedContactChanged() {
+		post(new Item(SELECTED_CONTACT));
+	}
+
+	@Override
+	public void onMessageStateChanged() {
+		post(new Item(MESSAGE_STATE));
+	}
+
+	@Override
+	public void onAppStateChanged() {
+		post(new Item(APP_STATE));
+	}
+
+	@Override
+	public void onLastContactsTabChanged(@NonNull Tab tab) {
+		Item item = new Item(LAST_CONTACTS_TAB);
+		item.tab = tab;
+		post(item);
+	}
+
+	@Override
+	public void onContactsChanged() {
+		post(new Item(CONTACTS));
+	}
+
+	@Override
+	public void onAudioStateChanged() {
+		post(new Item(AUDIO_STATE));
+	}
+
+	@Override
+	public void onMicrophonePermissionNotGranted() {
+		post(new Item(MICROPHONE_PERMISSION));
+	}
+
+	@Override
+	public void onBluetoothAccessoryStateChanged(@NonNull BluetoothAccessoryType type, @NonNull BluetoothAccessoryState state, @Nullable String name, @Nullable String description) {
+		Item item = new Item(BLUETOOTH_ACCESSORY);
+		item.accessoryType = type;
+		item.accessoryState = state;
+		item.name = name;
+		item.description = description;
+		post(item);
+	}
+
+	//region Private Methods
+
+	private void post(@NonNull Item item) {
+		if (_closed) {
+			return;
+		}
+		synchronized (_queue) {
+			boolean conflate = _policy == EventsOverflowPolicy.CONFLATE;
+			if (conflate && matches(_queue.peekLast(), item)) {
+				merge(_queue.peekLast(), item);
+				return;
+			}
+			if (_queue.size() >= _capacity && (!conflate || !removeSuperseded(item))) {
+				_queue.pollFirst();
+			}
+			_queue.addLast(item);
+			if (_scheduled) {
+				return;
+			}
+			_scheduled = true;
+		}
+		schedule();
+	}
+
+	/**
+	 * Remove a pending item that the new item supersedes.
+	 * Only used when the queue is full; the new item is then queued at the tail so callbacks keep their order.
+	 *
+	 * @return True if an item was removed
+	 */
+	private boolean removeSuperseded(@NonNull Item item) {
+		Iterator<Item> iterator = _queue.iterator();
+		while (iterator.hasNext()) {
+			if (matches(iterator.next(), item)) {
+				iterator.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matches(@Nullable Item pending, @NonNull Item item) {
+		return pending != null && pending.kind == item.kind && (item.kind != BLUETOOTH_ACCESSORY || pending.accessoryType == item.accessoryType);
+	}
+
+	private static void merge(@NonNull Item pending, @NonNull Item item) {
+		pending.tab = item.tab;
+		pending.accessoryState = item.accessoryState;
+		pending.name = item.name;
+		pending.description = item.description;
+	}
+
+	private void schedule() {
+		try {
+			_executor.execute(_drain);
+		} catch (Throwable t) {
+			synchronized (_queue) {
+				_scheduled = false;
+			}
+			Log.i("zello sdk", "Error in ExecutorEvents.schedule: " + t.toString());
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			Item item;
+			synchronized (_queue) {
+				item = _queue.pollFirst();
+				if (item == null || _closed) {
+					_scheduled = false;
+					return;
+				}
+			}
+			try {
+				deliver(item);
+			} catch (Throwable t) {
+				Log.i("zello sdk", "Error in ExecutorEvents.drain: " + t.toString());
+			}
+		}
+	}
+
+	private void deliver(@NonNull Item item) {
+		switch (item.kind) {
+			case SELECTED_CONTACT:
+				_target.onSelectedContactChanged();
+				break;
+			case MESSAGE_STATE:
+				_target.onMessageStateChanged();
+				break;
+			case APP_STATE:
+				_target.onAppStateChanged();
+				break;
+			case LAST_CONTACTS_TAB:
+				if (item.tab != null) {
+					_target.onLastContactsTabChanged(item.tab);
+				}
+				break;
+			case CONTACTS:
+				_target.onContactsChanged();
+				break;
+			case AUDIO_STATE:
+				_target.onAudioStateChanged();
+				break;
+			case MICROPHONE_PERMISSION:
+				_target.onMicrophonePermissionNotGranted();
+				break;
+			case BLUETOOTH_ACCESSORY:
+				if (item.accessoryType != null && item.accessoryState != null) {
+					_target.onBluetoothAccessoryStateChanged(item.accessoryType, item.accessoryState, item.name, item.description);
+				}
+				break;
+		}
+	}
+
+	//endregion
+
+	private static class Item {
+
+		final int kind;
+		@Nullable Tab tab;
+		@Nullable BluetoothAccessoryType accessoryType;
+		@Nullable BluetoothAccessoryState accessoryState;
+		@Nullable String name;
+		@Nullable String description;
+
+		Item(int kind) {
+			this.kind = kind;
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>JournalEntry</code> class is a single event recorded in the SDK event journal.
+ * </p>
+ * <p>
+ *     The meaning of the name, detail and value depends on the type of the event and is described
+ *     in {@link JournalEventType}.
+ * </p>
+ * @see Zello#getJournal(long)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class JournalEntry {
+
+	/**
+	 * Incoming message is being played.
+	 * @see JournalEventType#MESSAGE_STATE
+	 */
+	public static final int MESSAGE_IN = 1;
+	/**
+	 * Outgoing message is being sent.
+	 * @see JournalEventType#MESSAGE_STATE
+	 */
+	public static final int MESSAGE_OUT = 1 << 1;
+	/**
+	 * Outgoing message is still connecting.
+	 * @see JournalEventType#MESSAGE_STATE
+	 */
+	public static final int MESSAGE_CONNECTING = 1 << 2;
+
+	//region Package Private Variables
+
+	long _time;
+	@NonNull JournalEventType _type = JournalEventType.APP_STATE;
+	@Nullable String _name;
+	@Nullable String _detail;
+	int _value;
+
+	//endregion
+
+	/**
+	 * Returns the time of the event.
+	 * @return Milliseconds since boot, as returned by <code>SystemClock.elapsedRealtime()</code>.
+	 */
+	public long getTime() {
+		return _time;
+	}
+
+	/**
+	 * Returns the type of the event.
+	 * @return The type.
+	 */
+	public @NonNull JournalEventType getType() {
+		return _type;
+	}
+
+	/**
+	 * Returns the name associated with the event.
+	 * @return Nullable; the name.
+	 */
+	public @Nullable String getName() {
+		return _name;
+	}
+
+	/**
+	 * Returns the details of the event.
+	 * @return Nullable; the details.
+	 */
+	public @Nullable String getDetail() {
+		return _detail;
+	}
+
+	/**
+	 * Returns the numeric value associated with the event.
+	 * @return The value.
+	 */
+	public int getValue() {
+		return _value;
+	}
+
+	@Override
+	public @NonNull String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_time).append(' ').append(_type);
+		if (_name != null) {
+			sb.append(" name=").append(_name);
+		}
+		if (_detail != null) {
+			sb.append(" detail=").append(_detail);
+		}
+		if (_value != 0) {
+			sb.append(" value=0x").append(Integer.toHexString(_value));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.zello.sdk;
+
+/**
+ * The <code>JournalEventType</code> enum represents the kinds of events recorded in the SDK event journal.
+ * @see JournalEntry
+ * @see Zello#getJournal(long)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public enum JournalEventType {
+
+	/**
+	 * App state broadcast from the ZelloWork app.
+	 * Name is the username, detail is the last error, value is a combination of {@link AppState} <code>FIELD_*</code> flags
+	 * of the states that are on.
+	 */
+	APP_STATE,
+	/**
+	 * Message state broadcast from the ZelloWork app.
+	 * Name is the contact, detail is the author of an incoming channel message, value is {@link JournalEntry#MESSAGE_IN},
+	 * {@link JournalEntry#MESSAGE_OUT} or <code>0</code> combined with {@link JournalEntry#MESSAGE_CONNECTING}.
+	 */
+	MESSAGE_STATE,
+	/**
+	 * Selected contact broadcast from the ZelloWork app.
+	 * Name is the selected contact, value is the ordinal of its {@link ContactType}.
+	 */
+	SELECTED_CONTACT,
+	/**
+	 * Last selected contact list tab broadcast from the ZelloWork app.
+	 * Detail is the tab.
+	 */
+	LAST_CONTACTS_TAB,
+	/**
+	 * Change of the contact list.
+	 */
+	CONTACTS,
+	/**
+	 * Audio state broadcast from the ZelloWork app.
+	 */
+	AUDIO_STATE,
+	/**
+	 * Permission error broadcast from the ZelloWork app.
+	 * Detail is the error.
+	 */
+	PERMISSION_ERROR,
+	/**
+	 * Bluetooth accessory state broadcast from the ZelloWork app.
+	 * Name is the accessory, detail is the state, value is the ordinal of its {@link BluetoothAccessoryType}.
+	 */
+	BLUETOOTH_ACCESSORY,
+	/**
+	 * Command sent to the ZelloWork app.
+	 * Name is the command, detail is the contact the command applies to.
+	 */
+	COMMAND
+
+}
@@ -0,0 +1,28 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>LastContactsTabListener</code> interface receives notifications about changes of the last used contacts tab.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToLastContactsTab(LastContactsTabListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface LastContactsTabListener {
+
+	/**
+	 * <p>
+	 * Called when the last {@link Contacts} {@link Tab} changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @param tab The tab that changed.
+	 * @see Events#onLastContactsTabChanged(Tab)
+	 */
+	void onLastContactsTabChanged(@NonNull Tab tab);
+
+}
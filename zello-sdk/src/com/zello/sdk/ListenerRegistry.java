@@ -0,0 +1,101 @@
+package com.zello.sdk;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Copy-on-write list of listeners.
+ * <p>
+ * Every change publishes a new immutable array through a volatile field, so dispatching is a plain array walk
+ * without locks or iterators. Listeners can be added and removed from any thread, including from inside a callback;
+ * a dispatch that is already running keeps walking the array it started with.
+ * A {@link ListenerWrapper} is treated as the listener it wraps when adding and removing.
+ * </p>
+ *
+ * @param <T> Listener type
+ */
+class ListenerRegistry<T> {
+
+	private final @NonNull T[] _empty;
+	private volatile @NonNull T[] _listeners;
+
+	/**
+	 * Create an empty registry.
+	 *
+	 * @param empty Empty array of the listener type; used as the initial value and to create new arrays
+	 */
+	ListenerRegistry(@NonNull T[] empty) {
+		_empty = empty;
+		_listeners = empty;
+	}
+
+	/**
+	 * Get the current listeners. The array must not be modified.
+	 */
+	@NonNull T[] get() {
+		return _listeners;
+	}
+
+	boolean isEmpty() {
+		return _listeners.length == 0;
+	}
+
+	/**
+	 * Add a listener unless it's already registered.
+	 *
+	 * @return True if the listener was added
+	 */
+	synchronized boolean add(@NonNull T listener) {
+		T[] listeners = _listeners;
+		if (indexOf(listeners, listener) >= 0) {
+			return false;
+		}
+		T[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		_listeners = updated;
+		return true;
+	}
+
+	/**
+	 * Remove a listener or the wrapper of a listener.
+	 *
+	 * @return The removed listener or null if it wasn't found
+	 */
+	synchronized @Nullable T remove(@NonNull Object listener) {
+		T[] listeners = _listeners;
+		int index = indexOf(listeners, listener);
+		if (index < 0) {
+			return null;
+		}
+		T removed = listeners[index];
+		if (listeners.length == 1) {
+			_listeners = _empty;
+			return removed;
+		}
+		T[] updated = Arrays.copyOf(listeners, listeners.length - 1);
+		System.arraycopy(listeners, index + 1, updated, index, listeners.length - index - 1);
+		_listeners = updated;
+		return removed;
+	}
+
+	synchronized void clear() {
+		_listeners = _empty;
+	}
+
+	private static int indexOf(@NonNull Object[] listeners, @NonNull Object listener) {
+		Object target = unwrap(listener);
+		for (int i = 0; i < listeners.length; ++i) {
+			if (unwrap(listeners[i]).equals(target)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static @NonNull Object unwrap(@NonNull Object listener) {
+		return listener instanceof ListenerWrapper ? ((ListenerWrapper) listener).getTarget() : listener;
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>ListenerStats</code> class holds the callback timing statistics of a single listener.
+ * </p>
+ * <p>
+ *     Statistics are only collected while the listener watchdog is enabled.
+ * </p>
+ * @see Zello#setListenerWatchdog(long, ListenerWatchdogListener, java.util.concurrent.Executor)
+ * @see Zello#getListenerStats()
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class ListenerStats {
+
+	/**
+	 * Number of histogram buckets.
+	 * Bucket <code>i</code> counts callbacks that took less than <code>2^i</code> milliseconds
+	 * and at least as long as the limit of the previous bucket; the last bucket counts everything longer.
+	 */
+	public static final int BUCKETS = 12;
+
+	//region Package Private Variables
+
+	@Nullable Object _listener;
+	long _count;
+	long _slowCount;
+	long _totalNanos;
+	long _maxNanos;
+	final @NonNull long[] _histogram = new long[BUCKETS];
+	boolean _quarantined;
+
+	//endregion
+
+	/**
+	 * Returns the listener.
+	 * @return Nullable; the listener or <code>null</code> if it has been garbage collected.
+	 */
+	public @Nullable Object getListener() {
+		return _listener;
+	}
+
+	/**
+	 * Returns the number of timed callbacks.
+	 * @return The number of callbacks.
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the number of callbacks that took longer than the watchdog threshold.
+	 * @return The number of slow callbacks.
+	 */
+	public long getSlowCount() {
+		return _slowCount;
+	}
+
+	/**
+	 * Returns the total time spent in the callbacks.
+	 * @return Time in milliseconds.
+	 */
+	public long getTotalTime() {
+		return _totalNanos / 1000000;
+	}
+
+	/**
+	 * Returns the time taken by the slowest callback.
+	 * @return Time in milliseconds.
+	 */
+	public long getMaxTime() {
+		return _maxNanos / 1000000;
+	}
+
+	/**
+	 * Returns the number of callbacks in a histogram bucket.
+	 * @param bucket Bucket index from <code>0</code> to {@link #BUCKETS}<code> - 1</code>.
+	 * @return The number of callbacks.
+	 */
+	public long getHistogram(int bucket) {
+		return bucket >= 0 && bucket < BUCKETS ? _histogram[bucket] : 0;
+	}
+
+	/**
+	 * Returns whether the listener was moved to the quarantine executor.
+	 * @return true if the listener was quarantined.
+	 */
+	public boolean isQuarantined() {
+		return _quarantined;
+	}
+
+	//region Package Private Methods
+
+	@NonNull ListenerStats copy() {
+		ListenerStats stats = new ListenerStats();
+		stats._listener = _listener;
+		stats._count = _count;
+		stats._slowCount = _slowCount;
+		stats._totalNanos = _totalNanos;
+		stats._maxNanos = _maxNanos;
+		System.arraycopy(_histogram, 0, stats._histogram, 0, BUCKETS);
+		stats._quarantined = _quarantined;
+		return stats;
+	}
+
+	//endregion
+
+}
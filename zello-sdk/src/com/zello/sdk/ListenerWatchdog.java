@@ -0,0 +1,118 @@
+package com.zello.sdk;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Times listener callbacks and keeps per-listener statistics.
+ * <p>
+ * Dispatch loops call {@link #start()} before and {@link #end(Object, long)} after every callback. While the watchdog
+ * is disabled, both are a single volatile read. <code>Events</code> handlers that are repeatedly slow can be moved
+ * to a background executor so that they stop delaying the callbacks of other listeners.
+ * </p>
+ */
+class ListenerWatchdog {
+
+	private static final int QUARANTINE_AFTER = 3; // Slow callbacks before a handler is quarantined
+	private static final int QUARANTINE_QUEUE_SIZE = 64;
+
+	private volatile long _thresholdNanos; // 0 when disabled
+	private volatile @Nullable ListenerWatchdogListener _listener;
+	private volatile @Nullable Executor _quarantine;
+	private final @NonNull WeakHashMap<Object, ListenerStats> _stats = new WeakHashMap<>(); // Guarded by itself
+
+	void configure(long thresholdMs, @Nullable ListenerWatchdogListener listener, @Nullable Executor quarantine) {
+		_listener = listener;
+		_quarantine = quarantine;
+		_thresholdNanos = thresholdMs > 0 ? thresholdMs * 1000000 : 0;
+		if (thresholdMs <= 0) {
+			synchronized (_stats) {
+				_stats.clear();
+			}
+		}
+	}
+
+	/**
+	 * Get the start time of a callback.
+	 *
+	 * @return Start time or 0 if the watchdog is disabled
+	 */
+	long start() {
+		return _thresholdNanos > 0 ? System.nanoTime() : 0;
+	}
+
+	void end(@NonNull Object listener, long start) {
+		long threshold = _thresholdNanos;
+		if (start == 0 || threshold == 0) {
+			return;
+		}
+		long duration = System.nanoTime() - start;
+		boolean slow = duration > threshold;
+		boolean quarantine = false;
+		ListenerStats report = null;
+		synchronized (_stats) {
+			ListenerStats stats = _stats.get(listener);
+			if (stats == null) {
+				stats = new ListenerStats();
+				_stats.put(listener, stats);
+			}
+			++stats._count;
+			stats._totalNanos += duration;
+			stats._maxNanos = Math.max(stats._maxNanos, duration);
+			++stats._histogram[bucket(duration)];
+			if (slow) {
+				++stats._slowCount;
+				if (!stats._quarantined && stats._slowCount >= QUARANTINE_AFTER && _quarantine != null
+						&& listener instanceof Events && !(listener instanceof ListenerWrapper)) {
+					stats._quarantined = quarantine = true;
+				}
+				report = stats.copy();
+				report._listener = listener;
+			}
+		}
+		if (quarantine) {
+			Executor executor = _quarantine;
+			if (executor != null) {
+				Zello.getInstance().quarantineEvents((Events) listener, executor, QUARANTINE_QUEUE_SIZE);
+			}
+		}
+		ListenerWatchdogListener watchdogListener = _listener;
+		if (report != null && watchdogListener != null) {
+			try {
+				watchdogListener.onSlowListener(report, duration / 1000000);
+			} catch (Throwable t) {
+				Log.i("zello sdk", "Error in ListenerWatchdog.end: " + t.toString());
+			}
+		}
+	}
+
+	@NonNull List<ListenerStats> getStats() {
+		synchronized (_stats) {
+			List<ListenerStats> list = new ArrayList<>(_stats.size());
+			for (Map.Entry<Object, ListenerStats> entry : _stats.entrySet()) {
+				ListenerStats stats = entry.getValue().copy();
+				stats._listener = entry.getKey();
+				list.add(stats);
+			}
+			return list;
+		}
+	}
+
+	private static int bucket(long nanos) {
+		long ms = nanos / 1000000;
+		int bucket = 0;
+		while (bucket < ListenerStats.BUCKETS - 1 && ms >= (1L << bucket)) {
+			++bucket;
+		}
+		return bucket;
+	}
+
+}
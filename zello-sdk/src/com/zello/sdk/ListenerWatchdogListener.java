@@ -0,0 +1,25 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>ListenerWatchdogListener</code> interface receives reports about SDK listeners that take too long to handle callbacks.
+ * @see Zello#setListenerWatchdog(long, ListenerWatchdogListener, java.util.concurrent.Executor)
+ */
+@SuppressWarnings("unused")
+public interface ListenerWatchdogListener {
+
+	/**
+	 * <p>
+	 * Called after a listener callback took longer than the watchdog threshold.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the thread that ran the slow callback, which is usually the UI thread.
+	 * </p>
+	 *
+	 * @param stats Statistics of the listener, including the slow callback.
+	 * @param durationMs Time taken by the callback in milliseconds.
+	 */
+	void onSlowListener(@NonNull ListenerStats stats, long durationMs);
+
+}
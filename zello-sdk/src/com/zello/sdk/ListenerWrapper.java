@@ -0,0 +1,19 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Listener that forwards callbacks to another listener.
+ * {@link ListenerRegistry} treats a wrapper as equal to the listener it wraps, so the original listener
+ * can be used to unsubscribe.
+ */
+interface ListenerWrapper {
+
+	@NonNull Object getTarget();
+
+	/**
+	 * Called when the wrapper is removed from the registries and should stop forwarding callbacks.
+	 */
+	void close();
+
+}
@@ -0,0 +1,27 @@
+package com.zello.sdk;
+
+/**
+ * The <code>MessageStateListener</code> interface receives notifications about changes of the incoming and outgoing message state.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToMessageState(MessageStateListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface MessageStateListener {
+
+	/**
+	 * <p>
+	 * Called when the state of either the {@link MessageOut} or {@link MessageIn} changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @see Zello#getMessageIn(MessageIn)
+	 * @see Zello#getMessageOut(MessageOut)
+	 * @see Events#onMessageStateChanged()
+	 */
+	void onMessageStateChanged();
+
+}
@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+/**
+ * The <code>MicrophonePermissionListener</code> interface receives notifications about failures to start a message due to the missing microphone permission.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToMicrophonePermission(MicrophonePermissionListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface MicrophonePermissionListener {
+
+	/**
+	 * <p>
+	 * Called when an invocation of the {@link Zello#beginMessage()} method fails because the microphone permission hasn't been granted.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @see Zello#showMicrophonePermissionDialog()
+	 * @see Events#onMicrophonePermissionNotGranted()
+	 */
+	void onMicrophonePermissionNotGranted();
+
+}
@@ -0,0 +1,71 @@
+package com.zello.sdk;
+
+import java.util.ArrayList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Ordered, bounded queue of commands issued while the service is still connecting.
+ * A command with a coalescing key replaces any pending command with the same key, so that only the last
+ * one survives and runs in the position of the latest call.
+ * When the queue is full, the oldest pending command is dropped.
+ */
+class PendingCommands {
+
+	static final int CAPACITY = 64;
+
+	private final @NonNull ArrayList<String> _keys = new ArrayList<>();
+	private final @NonNull ArrayList<Runnable> _commands = new ArrayList<>();
+
+	/**
+	 * Queue a command.
+	 *
+	 * @param key     Coalescing key or null if the command should never replace another one
+	 * @param command Command that is run when the service connects
+	 */
+	synchronized void add(@Nullable String key, @NonNull Runnable command) {
+		if (key != null) {
+			remove(key);
+		}
+		if (_commands.size() >= CAPACITY) {
+			_keys.remove(0);
+			_commands.remove(0);
+		}
+		_keys.add(key);
+		_commands.add(command);
+	}
+
+	/**
+	 * Remove a pending command.
+	 *
+	 * @return True if a command was removed
+	 */
+	synchronized boolean remove(@NonNull String key) {
+		int index = _keys.indexOf(key);
+		if (index < 0) {
+			return false;
+		}
+		_keys.remove(index);
+		_commands.remove(index);
+		return true;
+	}
+
+	/**
+	 * Remove all pending commands.
+	 *
+	 * @return Commands in the order they should run
+	 */
+	synchronized @NonNull Runnable[] drain() {
+		Runnable[] commands = _commands.toArray(new Runnable[0]);
+		_keys.clear();
+		_commands.clear();
+		return commands;
+	}
+
+	synchronized void clear() {
+		_keys.clear();
+		_commands.clear();
+	}
+
+}
@@ -9,13 +9,20 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.ServiceConnection;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.IBinder;
+import android.os.Looper;
 import android.os.Message;
+import android.os.Process;
 import android.util.Log;
 
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -42,14 +49,26 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 	private final @NonNull MessageIn _messageIn = new MessageIn();
 	private final @NonNull MessageOut _messageOut = new MessageOut();
 	private @Nullable Contacts _contacts;
+	private boolean _contactsBackgroundQuery;
+	private long _contactsCoalescingWindow, _contactsCoalescingMaxLatency;
+	private @Nullable ContactsQuery _contactsQuery;
 	private @Nullable Audio _audio;
 	private final @NonNull AppState _appState = new AppState();
+	// Immutable copies of the state taken when listeners are notified; safe to read from any thread
+	private volatile @NonNull AppState _publishedAppState = new AppState();
+	private volatile @NonNull MessageIn _publishedMessageIn = new MessageIn();
+	private volatile @NonNull MessageOut _publishedMessageOut = new MessageOut();
+	private volatile @NonNull Contact _publishedSelectedContact = new Contact();
+	private boolean _appStateChangePending; // App state notification is waiting for the main looper
+	private int _pendingAppStateFields; // AppState.FIELD_* changed since listeners were last notified
+	private volatile long _suppressedAppStateChanges;
 	private boolean _serviceBound; // Service is bound
 	private @Nullable Intent _serviceIntent; // Service connect/disconnect intent
 	private boolean _serviceConnecting; // Service is bound but is still connecting
-	private @Nullable String _delayedNetwork, _delayedUsername, _delayedPassword;
-	private boolean _delayedPerishable;
-	private @Nullable Boolean _delayedShowBtAcceccoriesNotifications;
+	private boolean _handshaking; // Service is connected and the binder command channel handshake is running
+	private int _handshakeId; // Identifies the current handshake; changes when the channel is closed
+	private final @NonNull PendingCommands _pendingCommands = new PendingCommands(); // Commands issued while the service is connecting
+	private @Nullable Boolean _delayedShowBtAcceccoriesNotifications; // Applied when the service connects, even if it wasn't bound when set
 	private boolean _lastMessageReplayAvailable;
 	private @Nullable BroadcastReceiver _receiverPackage; // Broadcast receiver for package install broadcasts
 	private @Nullable BroadcastReceiver _receiverAppState; // Broadcast receiver for app state broadcasts
@@ -58,8 +77,26 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 	private @Nullable BroadcastReceiver _receiverActiveTab; // Broadcast receiver for last selected contact list tab
 	private @Nullable BroadcastReceiver _receiverPermissionErrors; // Broadcast receiver for permissions errors
 	private @Nullable BroadcastReceiver _receiverBtAccessoryState; // Broadcast receiver for bluetooth accessory state broadcasts
+	private volatile @Nullable CommandDispatcher _dispatcher; // Sends commands to the connected package
+	private @Nullable HandlerThread _highLaneThread; // Thread that receives message state broadcasts
+	private final @NonNull ArrayDeque<LaneItem> _lowLane = new ArrayDeque<>(); // Low priority work waiting for the UI thread; guarded by itself
+	private boolean _lowLaneScheduled; // Guarded by _lowLane
+	private int _highLanePending; // Message state broadcasts posted to the UI thread and not handled yet; guarded by _lowLane
+	private final @NonNull Executor _lowLaneExecutor = new Executor() {
+		@Override
+		public void execute(@NonNull Runnable command) {
+			postLowLane(command);
+		}
+	};
+	private final @NonNull EventLaneStats[] _laneStats = {new EventLaneStats(), new EventLaneStats()}; // By lane ordinal; guarded by itself
 
 	private static final int AWAKE_TIMER = 1;
+	private static final int APP_STATE_CHANGED = 2;
+	private static final int MESSAGE_STATE = 3;
+	private static final int LOW_LANE = 4;
+	private static final int HANDSHAKE_TIMEOUT = 5;
+	private static final long HANDSHAKE_TIMEOUT_MS = 2000; // Longest time commands wait for the binder command channel
+	private static final int BATCH_ITEM_INTERVAL = 20; // Pause between commands of a batch sent one by one, ms
 
 	private static final String _pttActivityClass = "com.zello.sdk.Activity";
 	private static final String _pttPermissionsActivityClass = "com.zello.sdk.PermissionsActivity";
@@ -85,6 +122,7 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		_preferredPackage = !Util.isNullOrEmpty(packageName) ? packageName.toLowerCase(Locale.ROOT) : null;
 		_handler = new SafeHandler<>(this, context);
 		_appState._available = isAppAvailable();
+		_publishedAppState = _appState.clone();
 		// Spin up the main app
 		connect();
 		registerPackageReceivers();
@@ -106,12 +144,18 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			audio.close();
 		}
 		stopAwakeTimer();
+		Handler h = _handler;
+		if (h != null) {
+			h.removeMessages(APP_STATE_CHANGED);
+		}
+		_appStateChangePending = false;
+		_pendingAppStateFields = 0;
 		_handler = null;
 		if (!_serviceConnecting) {
 			_context = null;
 		}
 		_preferredPackage = null;
-		_connectedPackage = null;
+		setConnectedPackage(null);
 		_contacts = null;
 		_audio = null;
 	}
@@ -260,24 +304,22 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	void beginMessage() {
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_BEGIN_MESSAGE);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_BEGIN_MESSAGE);
+		dispatcher.send(context, intent);
 	}
 
 	void endMessage() {
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_END_MESSAGE);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_END_MESSAGE);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
@@ -286,13 +328,12 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	void replayLastIncomingMessage() {
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_REPLAY_MESSAGE);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_REPLAY_MESSAGE);
+		dispatcher.send(context, intent);
 	}
 
 	public boolean isLastMessageReplayAvailable() {
@@ -303,55 +344,142 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	//region Channels
 
-	void connectChannel(@Nullable String channel) {
-		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+	void connectChannel(@Nullable final String channel) {
+		if (channel == null || channel.isEmpty()) {
 			return;
 		}
-		if (channel == null || channel.isEmpty()) {
+		if (isConnecting()) {
+			_pendingCommands.add("CHANNEL:" + channel, new Runnable() {
+				@Override
+				public void run() {
+					connectChannel(channel);
+				}
+			});
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_CONNECT);
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
+			return;
+		}
+		Intent intent = dispatcher.obtain(Constants.VALUE_CONNECT);
 		intent.putExtra(Constants.EXTRA_CONTACT_NAME, channel);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
-	void disconnectChannel(@Nullable String channel) {
-		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+	void disconnectChannel(@Nullable final String channel) {
+		if (channel == null || channel.isEmpty()) {
 			return;
 		}
-		if (channel == null || channel.isEmpty()) {
+		if (isConnecting()) {
+			_pendingCommands.add("CHANNEL:" + channel, new Runnable() {
+				@Override
+				public void run() {
+					disconnectChannel(channel);
+				}
+			});
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_DISCONNECT);
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
+			return;
+		}
+		Intent intent = dispatcher.obtain(Constants.VALUE_DISCONNECT);
 		intent.putExtra(Constants.EXTRA_CONTACT_NAME, channel);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
 
 	//region Contacts
 
-	void muteContact(@Nullable Contact contact, boolean mute) {
-		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
-			return;
-		}
+	void muteContact(@Nullable Contact contact, final boolean mute) {
 		if (contact == null) {
 			return;
 		}
 		ContactType type = contact.getType();
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, mute ? Constants.VALUE_MUTE : Constants.VALUE_UNMUTE);
+		if (isConnecting()) {
+			final Contact copy = contact.clone();
+			_pendingCommands.add("MUTE:" + type + ":" + contact.getName(), new Runnable() {
+				@Override
+				public void run() {
+					muteContact(copy, mute);
+				}
+			});
+			return;
+		}
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
+			return;
+		}
+		Intent intent = dispatcher.obtain(mute ? Constants.VALUE_MUTE : Constants.VALUE_UNMUTE);
 		intent.putExtra(Constants.EXTRA_CONTACT_NAME, contact.getName());
 		intent.putExtra(Constants.EXTRA_CONTACT_TYPE, type == ContactType.CHANNEL || type == ContactType.GROUP || type == ContactType.CONVERSATION ? 1 : 0);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
+	}
+
+	//endregion
+
+	//region Audio
+
+	/**
+	 * Send the audio mode command.
+	 *
+	 * @param mode One of the <code>Constants.EXTRA_SP</code>, <code>EXTRA_EP</code>, <code>EXTRA_BT</code> or <code>EXTRA_WA</code> values
+	 */
+	void setAudioMode(@NonNull final String mode) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SET_AUDIO, new Runnable() {
+				@Override
+				public void run() {
+					setAudioMode(mode);
+				}
+			});
+			return;
+		}
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
+			return;
+		}
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_AUDIO);
+		intent.putExtra(Constants.EXTRA_MODE, mode);
+		Zello.getInstance().journal.record(JournalEventType.COMMAND, Constants.VALUE_SET_AUDIO, mode, 0);
+		dispatcher.send(context, intent, false);
+	}
+
+	//endregion
+
+	//region Batches
+
+	void commitBatch(@NonNull final CommandBatch batch, @Nullable final CommandBatchListener listener) {
+		final CommandBatch.Item[] items;
+		synchronized (batch._items) {
+			items = batch._items.toArray(new CommandBatch.Item[0]);
+		}
+		if (isConnecting()) {
+			_pendingCommands.add(null, new Runnable() {
+				@Override
+				public void run() {
+					sendBatch(batch, items, listener);
+				}
+			});
+			return;
+		}
+		Handler h = _handler;
+		if (h == null) {
+			// Destroyed; nothing can be sent, but results are still reported on the UI thread
+			new Handler(Looper.getMainLooper()).post(new BatchSender(batch, items, listener));
+			return;
+		}
+		h.post(new Runnable() {
+			@Override
+			public void run() {
+				sendBatch(batch, items, listener);
+			}
+		});
 	}
 
 	//endregion
@@ -362,135 +490,164 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		return signIn(network, username, password, false);
 	}
 
-	boolean signIn(@Nullable String network, @Nullable String username, @Nullable String password, boolean perishable) {
+	boolean signIn(@Nullable final String network, @Nullable final String username, @Nullable final String password, final boolean perishable) {
 		if (network == null || network.isEmpty() || username == null || username.isEmpty() || password == null || password.isEmpty()) {
 			return false;
 		}
-		if (isConnected()) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SIGN_IN, new Runnable() {
+				@Override
+				public void run() {
+					signIn(network, username, password, perishable);
+				}
+			});
+		} else if (isConnected()) {
 			Context context = _context;
-			String connectedPackage = _connectedPackage;
-			if (context == null || connectedPackage == null) {
+			CommandDispatcher dispatcher = _dispatcher;
+			if (context == null || dispatcher == null) {
 				return false;
 			}
-			Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-			intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SIGN_IN);
+			Intent intent = dispatcher.obtain(Constants.VALUE_SIGN_IN);
 			intent.putExtra(Constants.EXTRA_NETWORK_URL, network);
 			intent.putExtra(Constants.EXTRA_USERNAME, username);
 			intent.putExtra(Constants.EXTRA_PASSWORD, md5(password));
 			intent.putExtra(Constants.EXTRA_PERISHABLE, perishable);
-			context.sendBroadcast(intent);
+			dispatcher.send(context, intent);
 			context.startService(_serviceIntent);
-		} else if (_serviceBound) {
-			_delayedNetwork = network;
-			_delayedUsername = username;
-			_delayedPassword = password;
-			_delayedPerishable = perishable;
 		}
 		return true;
 	}
 
 	void signOut() {
-		_delayedNetwork = _delayedUsername = _delayedPassword = null;
-		_delayedPerishable = false;
+		_pendingCommands.remove(Constants.VALUE_SIGN_IN);
 		if (!_serviceBound) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SIGN_OUT);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SIGN_OUT);
+		dispatcher.send(context, intent);
 	}
 
 	void cancel() {
-		_delayedNetwork = _delayedUsername = _delayedPassword = null;
-		_delayedPerishable = false;
+		_pendingCommands.remove(Constants.VALUE_SIGN_IN);
 		if (!_serviceBound) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_CANCEL);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_CANCEL);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
 
 	//region Locking
 
-	void lock(@Nullable String applicationName, @Nullable String packageName) {
+	void lock(@Nullable final String applicationName, @Nullable final String packageName) {
 		if (applicationName == null || applicationName.isEmpty()) {
 			return;
 		}
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_LOCK, new Runnable() {
+				@Override
+				public void run() {
+					lock(applicationName, packageName);
+				}
+			});
+			return;
+		}
 		if (!isConnected()) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_LOCK);
+		Intent intent = dispatcher.obtain(Constants.VALUE_LOCK);
 		intent.putExtra(Constants.EXTRA_APPLICATION, applicationName);
 		intent.putExtra(Constants.EXTRA_PACKAGE, packageName);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
 	void unlock() {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_LOCK, new Runnable() {
+				@Override
+				public void run() {
+					unlock();
+				}
+			});
+			return;
+		}
 		if (!isConnected()) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_LOCK);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_LOCK);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
 
 	//region Status
 
-	void setStatus(@NonNull Status status) {
+	void setStatus(@NonNull final Status status) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SET_STATUS, new Runnable() {
+				@Override
+				public void run() {
+					setStatus(status);
+				}
+			});
+			return;
+		}
 		if (!_serviceBound) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_STATUS);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_STATUS);
 		intent.putExtra(Constants.EXTRA_STATE_BUSY, status == Status.BUSY);
 		intent.putExtra(Constants.EXTRA_STATE_SOLO, status == Status.SOLO);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
-	void setStatusMessage(@Nullable String message) {
+	void setStatusMessage(@Nullable final String message) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.EXTRA_STATE_STATUS_MESSAGE, new Runnable() {
+				@Override
+				public void run() {
+					setStatusMessage(message);
+				}
+			});
+			return;
+		}
 		if (!_serviceBound) {
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_STATUS);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_STATUS);
 		intent.putExtra(Constants.EXTRA_STATE_STATUS_MESSAGE, Util.emptyIfNull(message));
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
@@ -536,19 +693,19 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 	//region Getters
 
 	void getMessageIn(@Nullable MessageIn message) {
-		_messageIn.copyTo(message);
+		_publishedMessageIn.copyTo(message);
 	}
 
 	void getMessageOut(@Nullable MessageOut message) {
-		_messageOut.copyTo(message);
+		_publishedMessageOut.copyTo(message);
 	}
 
 	void getAppState(@Nullable AppState state) {
-		_appState.copyTo(state);
+		_publishedAppState.copyTo(state);
 	}
 
 	void getSelectedContact(@Nullable Contact contact) {
-		_selectedContact.copyTo(contact);
+		_publishedSelectedContact.copyTo(contact);
 	}
 
 	@Nullable Contacts getContacts() {
@@ -562,58 +719,86 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			return _audio;
 		}
 		if (_audio == null) {
-			_audio = new Audio(connectedPackage, _context);
+			_audio = new Audio(this, connectedPackage, _context);
 		}
 		return _audio;
 	}
 
+	boolean hasAudio() {
+		return _audio != null;
+	}
+
 	//endregion
 
 	//region Setters
 
-	void setAutoRun(boolean enable) {
+	void setAutoRun(final boolean enable) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SET_AUTO_RUN, new Runnable() {
+				@Override
+				public void run() {
+					setAutoRun(enable);
+				}
+			});
+			return;
+		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
 		if (!isConnected()) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_AUTO_RUN);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_AUTO_RUN);
 		intent.putExtra(Constants.EXTRA_STATE_AUTO_RUN, enable);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
-	void setAutoConnectChannels(boolean connect) {
+	void setAutoConnectChannels(final boolean connect) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SET_AUTO_CHANNELS, new Runnable() {
+				@Override
+				public void run() {
+					setAutoConnectChannels(connect);
+				}
+			});
+			return;
+		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
 		if (!isConnected()) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_AUTO_CHANNELS);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_AUTO_CHANNELS);
 		intent.putExtra(Constants.EXTRA_STATE_AUTO_CHANNELS, connect);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
-	void setExternalId(@Nullable String id) {
+	void setExternalId(@Nullable final String id) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SET_EID, new Runnable() {
+				@Override
+				public void run() {
+					setExternalId(id);
+				}
+			});
+			return;
+		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
 		if (!isConnected()) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_EID);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_EID);
 		intent.putExtra(Constants.EXTRA_EID, id == null ? "" : id);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
 	void setSelectedContact(@Nullable Contact contact) {
@@ -633,20 +818,60 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		selectContact(1, name);
 	}
 
+	@NonNull EventLaneStats getEventLaneStats(@NonNull EventLane lane) {
+		synchronized (_laneStats) {
+			return _laneStats[lane.ordinal()].copy();
+		}
+	}
+
+	@NonNull CommandStats getCommandStats() {
+		CommandDispatcher dispatcher = _dispatcher;
+		return dispatcher != null ? dispatcher.getStats() : new CommandStats();
+	}
+
+	long getSuppressedAppStateChangeCount() {
+		return _suppressedAppStateChanges;
+	}
+
+	void setContactsBackgroundQuery(boolean enable) {
+		_contactsBackgroundQuery = enable;
+		Contacts contacts = _contacts;
+		if (contacts != null) {
+			contacts.setBackgroundQuery(enable);
+		}
+	}
+
+	void setContactsCoalescing(long window, long maxLatency) {
+		_contactsCoalescingWindow = window;
+		_contactsCoalescingMaxLatency = maxLatency;
+		Contacts contacts = _contacts;
+		if (contacts != null) {
+			contacts.setCoalescing(window, maxLatency);
+		}
+	}
+
+	void setContactsQuery(@Nullable ContactsQuery query) {
+		query = query != null && !query.isDefault() ? query.clone() : null;
+		_contactsQuery = query;
+		Contacts contacts = _contacts;
+		if (contacts != null) {
+			contacts.setQuery(query);
+		}
+	}
+
 	void setShowBluetoothAccessoriesNotifications(boolean show) {
 		if (!isConnected()) {
 			_delayedShowBtAcceccoriesNotifications = show;
 			return;
 		}
 		Context context = _context;
-		String connectedPackage = _connectedPackage;
-		if (context == null || connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SET_SHOW_BT_ACCESSORIES_NOTIFICATIONS);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SET_SHOW_BT_ACCESSORIES_NOTIFICATIONS);
 		intent.putExtra(Constants.EXTRA_VALUE, show);
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
 	}
 
 	//endregion
@@ -659,14 +884,47 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	@Override
 	public void handleMessageFromSafeHandler(@NonNull Message message) {
-		if (message.what != AWAKE_TIMER) {
-			return;
-		}
-		if (_resumed) {
-			sendStayAwake();
-			Handler h = _handler;
-			if (h != null) {
-				h.sendMessageDelayed(h.obtainMessage(AWAKE_TIMER), Constants.STAY_AWAKE_TIMEOUT);
+		switch (message.what) {
+			case AWAKE_TIMER: {
+				if (_resumed) {
+					sendStayAwake();
+					Handler h = _handler;
+					if (h != null) {
+						h.sendMessageDelayed(h.obtainMessage(AWAKE_TIMER), Constants.STAY_AWAKE_TIMEOUT);
+					}
+				}
+				break;
+			}
+			case APP_STATE_CHANGED: {
+				_appStateChangePending = false;
+				dispatchAppStateChanged();
+				break;
+			}
+			case MESSAGE_STATE: {
+				synchronized (_lowLane) {
+					if (_highLanePending > 0) {
+						--_highLanePending;
+					}
+				}
+				// Drop broadcasts that were received before the receiver was unregistered
+				if (_receiverMessageState != null) {
+					LaneItem item = (LaneItem) message.obj;
+					addLaneDelay(EventLane.HIGH, item.received);
+					updateMessageState((Intent) item.data);
+				}
+				break;
+			}
+			case LOW_LANE: {
+				drainLowLane();
+				break;
+			}
+			case HANDSHAKE_TIMEOUT: {
+				// Send the pending commands as broadcasts; the channel is still installed if the handshake completes later
+				if (_handshaking && message.arg1 == _handshakeId) {
+					Log.i("zello sdk", "Command channel handshake timed out");
+					finishHandshake(null);
+				}
+				break;
 			}
 		}
 	}
@@ -686,17 +944,9 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		}
 		_serviceConnecting = false;
 		context.startService(_serviceIntent);
-		if (_delayedShowBtAcceccoriesNotifications != null) {
-			setShowBluetoothAccessoriesNotifications(_delayedShowBtAcceccoriesNotifications);
-		}
-		if (_delayedNetwork != null) {
-			signIn(_delayedNetwork, _delayedUsername, _delayedPassword, _delayedPerishable);
-		}
-		_delayedNetwork = _delayedUsername = _delayedPassword = null;
-		_delayedPerishable = false;
-		_delayedShowBtAcceccoriesNotifications = null;
 		// If service is not bound, the component was destroyed and the service needs to be disconnected
 		if (!_serviceBound) {
+			finishHandshake(null);
 			Log.i("zello sdk", "disconnecting because sdk was destroyed");
 			try {
 				context.unbindService(this);
@@ -704,6 +954,9 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			}
 			_context = null;
 			_appState._error = false;
+			closeCommandChannel();
+		} else {
+			startHandshake(service);
 		}
 		_appState._initializing = false;
 		fireAppStateChanged();
@@ -712,8 +965,13 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 	@Override
 	public void onServiceDisconnected(@Nullable ComponentName name) {
 		_serviceBound = false;
+		if (_handshaking) {
+			_pendingCommands.clear();
+		}
+		closeCommandChannel();
 		if (_serviceConnecting) {
 			_serviceConnecting = false;
+			_pendingCommands.clear();
 			_appState._initializing = false;
 			_appState._error = false;
 			fireAppStateChanged();
@@ -817,14 +1075,36 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			_context.registerReceiver(_receiverPermissionErrors, new IntentFilter(_connectedPackage + "." + Constants.ACTION_PERMISSION_ERRORS));
 		}
 		if (_receiverMessageState == null) {
-			// Register to receive message state broadcasts
+			// Register to receive message state broadcasts on a high priority thread, so that they don't wait for
+			// the UI thread to dispatch them, and handle them on the UI thread ahead of the low lane work
+			final Handler main = _handler;
+			Handler receiverHandler = null;
+			if (main != null) {
+				HandlerThread thread = new HandlerThread("zello sdk message state", Process.THREAD_PRIORITY_DISPLAY);
+				thread.start();
+				_highLaneThread = thread;
+				receiverHandler = new Handler(thread.getLooper());
+			}
 			_receiverMessageState = new BroadcastReceiver() {
 				@Override
 				public void onReceive(Context context, Intent intent) {
-					updateMessageState(intent);
+					if (main == null) {
+						updateMessageState(intent);
+						return;
+					}
+					Message message = main.obtainMessage(MESSAGE_STATE, new LaneItem(intent, System.nanoTime()));
+					if (Util.getApiLevel() >= Build.VERSION_CODES.LOLLIPOP_MR1) {
+						// Not held back by sync barriers while the UI thread waits for the next frame
+						message.setAsynchronous(true);
+					}
+					// Counted before it's sent so that the low lane never runs ahead of it
+					synchronized (_lowLane) {
+						++_highLanePending;
+					}
+					main.sendMessage(message);
 				}
 			};
-			Intent intentStickyMessageState = _context.registerReceiver(_receiverMessageState, new IntentFilter(_connectedPackage + "." + Constants.ACTION_MESSAGE_STATE));
+			Intent intentStickyMessageState = _context.registerReceiver(_receiverMessageState, new IntentFilter(_connectedPackage + "." + Constants.ACTION_MESSAGE_STATE), null, receiverHandler);
 			updateMessageState(intentStickyMessageState);
 		}
 		if (_receiverContactSelected == null) {
@@ -849,11 +1129,19 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			_context.registerReceiver(_receiverActiveTab, new IntentFilter(_activeTabAction));
 		}
 		if (_receiverBtAccessoryState == null) {
-			// Register to receive bluetooth accessory state broadcasts
+			// Register to receive bluetooth accessory state broadcasts and handle them on the low lane
 			_receiverBtAccessoryState = new BroadcastReceiver() {
 				@Override
-				public void onReceive(Context context, Intent intent) {
-					handleBtAccessoryState(intent);
+				public void onReceive(Context context, final Intent intent) {
+					postLowLane(new Runnable() {
+						@Override
+						public void run() {
+							// Drop broadcasts that were received before the receiver was unregistered
+							if (_receiverBtAccessoryState != null) {
+								handleBtAccessoryState(intent);
+							}
+						}
+					});
 				}
 			};
 			_context.registerReceiver(_receiverBtAccessoryState, new IntentFilter(_connectedPackage + "." + Constants.ACTION_BT_ACCESSORY_STATE));
@@ -880,6 +1168,11 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			_context.unregisterReceiver(_receiverMessageState);
 			_receiverMessageState = null;
 		}
+		HandlerThread thread = _highLaneThread;
+		_highLaneThread = null;
+		if (thread != null) {
+			thread.quit();
+		}
 		if (_receiverContactSelected != null) {
 			_context.unregisterReceiver(_receiverContactSelected);
 			_receiverContactSelected = null;
@@ -892,6 +1185,13 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			_context.unregisterReceiver(_receiverBtAccessoryState);
 			_receiverBtAccessoryState = null;
 		}
+		Handler h = _handler;
+		if (h != null) {
+			h.removeMessages(MESSAGE_STATE);
+		}
+		synchronized (_lowLane) {
+			_highLanePending = 0;
+		}
 	}
 
 	/**
@@ -905,22 +1205,255 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		return !Util.samePackageNames(_connectedPackage, preferredApp != null ? preferredApp.packageName : null);
 	}
 
-	private void selectContact(int type, @Nullable String name) {
+	private void selectContact(final int type, @Nullable final String name) {
+		if (isConnecting()) {
+			_pendingCommands.add(Constants.VALUE_SELECT_CONTACT, new Runnable() {
+				@Override
+				public void run() {
+					selectContact(type, name);
+				}
+			});
+			return;
+		}
 		Context context = _context;
 		if (context == null) {
 			return;
 		}
-		String connectedPackage = _connectedPackage;
-		if (connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(_connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_SELECT_CONTACT);
+		Intent intent = dispatcher.obtain(Constants.VALUE_SELECT_CONTACT);
 		if (name != null && name.length() > 0) {
 			intent.putExtra(Constants.EXTRA_CONTACT_NAME, name);
 			intent.putExtra(Constants.EXTRA_CONTACT_TYPE, type);
 		}
-		context.sendBroadcast(intent);
+		dispatcher.send(context, intent);
+	}
+
+	/**
+	 * Add the time a broadcast spent waiting for the UI thread.
+	 *
+	 * @param received Time the broadcast was received, as returned by <code>System.nanoTime()</code>
+	 */
+	private void addLaneDelay(@NonNull EventLane lane, long received) {
+		long delay = System.nanoTime() - received;
+		synchronized (_laneStats) {
+			_laneStats[lane.ordinal()].add(delay);
+		}
+	}
+
+	/**
+	 * Queue low priority work, such as contact list changes and bluetooth accessory updates, for the UI thread.
+	 * The work runs in the order it was queued, after any message state broadcasts that are already waiting.
+	 */
+	private void postLowLane(@NonNull Runnable task) {
+		Handler h = _handler;
+		if (h == null) {
+			task.run();
+			return;
+		}
+		synchronized (_lowLane) {
+			_lowLane.addLast(new LaneItem(task, System.nanoTime()));
+			if (_lowLaneScheduled) {
+				return;
+			}
+			_lowLaneScheduled = true;
+		}
+		h.sendMessage(h.obtainMessage(LOW_LANE));
+	}
+
+	private void drainLowLane() {
+		while (true) {
+			LaneItem item;
+			synchronized (_lowLane) {
+				if (_lowLane.isEmpty()) {
+					_lowLaneScheduled = false;
+					return;
+				}
+				if (_highLanePending > 0) {
+					// Step behind the message state broadcasts that are already in the UI thread queue
+					break;
+				}
+				item = _lowLane.pollFirst();
+			}
+			addLaneDelay(EventLane.LOW, item.received);
+			((Runnable) item.data).run();
+		}
+		Handler h = _handler;
+		if (h != null) {
+			h.sendMessage(h.obtainMessage(LOW_LANE));
+		} else {
+			synchronized (_lowLane) {
+				_lowLaneScheduled = false;
+			}
+		}
+	}
+
+	/**
+	 * Send a batch as a single payload over the binder channel if possible, otherwise one command at a time.
+	 */
+	private void sendBatch(@NonNull CommandBatch batch, @NonNull CommandBatch.Item[] items, @Nullable CommandBatchListener listener) {
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context != null && dispatcher != null && dispatcher.supportsBatch() && items.length > 1) {
+			String[] commands = new String[items.length];
+			String[] names = new String[items.length];
+			int[] types = new int[items.length];
+			int count = 0;
+			for (CommandBatch.Item item : items) {
+				if (isValidBatchItem(item)) {
+					commands[count] = item.command;
+					names[count] = item.name;
+					types[count++] = item.type;
+				}
+			}
+			if (count == 0) {
+				// Nothing to send; don't pass an empty batch to the app or record it in the journal
+				reportBatch(batch, items, listener, 0);
+				return;
+			}
+			Intent intent = dispatcher.obtain(Constants.VALUE_BATCH);
+			intent.putExtra(Constants.EXTRA_BATCH_COMMANDS, Arrays.copyOf(commands, count));
+			intent.putExtra(Constants.EXTRA_BATCH_NAMES, Arrays.copyOf(names, count));
+			intent.putExtra(Constants.EXTRA_BATCH_TYPES, Arrays.copyOf(types, count));
+			Zello.getInstance().journal.record(JournalEventType.COMMAND, Constants.VALUE_BATCH, null, count);
+			if (dispatcher.sendOverBinder(intent)) {
+				reportBatch(batch, items, listener, count);
+				return;
+			}
+		}
+		new BatchSender(batch, items, listener).run();
+	}
+
+	/**
+	 * Report the results of a batch that was handled at once; valid commands were accepted for sending.
+	 */
+	private static void reportBatch(@NonNull CommandBatch batch, @NonNull CommandBatch.Item[] items, @Nullable CommandBatchListener listener, int sentCount) {
+		if (listener == null) {
+			return;
+		}
+		for (int i = 0; i < items.length; ++i) {
+			listener.onBatchItemResult(batch, i, isValidBatchItem(items[i]));
+		}
+		listener.onBatchCompleted(batch, sentCount);
+	}
+
+	private boolean sendBatchItem(@NonNull CommandBatch.Item item) {
+		Context context = _context;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (context == null || dispatcher == null || !isValidBatchItem(item)) {
+			return false;
+		}
+		Intent intent = dispatcher.obtain(item.command);
+		intent.putExtra(Constants.EXTRA_CONTACT_NAME, item.name);
+		if (item.type >= 0) {
+			intent.putExtra(Constants.EXTRA_CONTACT_TYPE, item.type);
+		}
+		dispatcher.send(context, intent);
+		return true;
+	}
+
+	private static boolean isValidBatchItem(@NonNull CommandBatch.Item item) {
+		return item.name != null && !item.name.isEmpty();
+	}
+
+	/**
+	 * Check whether the service supports the binder command channel. The handshake is a synchronous transaction,
+	 * so it runs on a background thread; commands issued in the meantime are queued and sent when it's done.
+	 */
+	private void startHandshake(@Nullable final IBinder service) {
+		final int id = ++_handshakeId;
+		_handshaking = true;
+		final Handler h = _handler;
+		if (h == null || service == null) {
+			finishHandshake(null);
+			return;
+		}
+		h.sendMessageDelayed(h.obtainMessage(HANDSHAKE_TIMEOUT, id, 0), HANDSHAKE_TIMEOUT_MS);
+		new Thread(new Runnable() {
+			@Override
+			public void run() {
+				final BinderCommandChannel channel = BinderCommandChannel.create(service);
+				if (channel == null) {
+					h.post(new Runnable() {
+						@Override
+						public void run() {
+							if (_handshaking && id == _handshakeId) {
+								finishHandshake(null);
+							}
+						}
+					});
+					return;
+				}
+				h.post(new Runnable() {
+					@Override
+					public void run() {
+						CommandDispatcher dispatcher = _dispatcher;
+						if (id != _handshakeId || !_serviceBound || dispatcher == null) {
+							// Disconnected in the meantime
+							channel.close();
+						} else if (_handshaking) {
+							finishHandshake(channel);
+						} else {
+							// Timed out earlier; send the following commands over the channel
+							dispatcher.setChannel(channel);
+						}
+					}
+				});
+			}
+		}, "zello sdk command channel").start();
+	}
+
+	/**
+	 * Install the command channel and send the commands issued while the service was connecting.
+	 *
+	 * @param channel Channel or null to keep sending broadcasts
+	 */
+	private void finishHandshake(@Nullable BinderCommandChannel channel) {
+		_handshaking = false;
+		Handler h = _handler;
+		if (h != null) {
+			h.removeMessages(HANDSHAKE_TIMEOUT);
+		}
+		CommandDispatcher dispatcher = _dispatcher;
+		if (dispatcher != null && channel != null) {
+			dispatcher.setChannel(channel);
+		}
+		if (_delayedShowBtAcceccoriesNotifications != null) {
+			setShowBluetoothAccessoriesNotifications(_delayedShowBtAcceccoriesNotifications);
+			_delayedShowBtAcceccoriesNotifications = null;
+		}
+		// Run the commands issued while the service was connecting in the order they were issued
+		for (Runnable command : _pendingCommands.drain()) {
+			command.run();
+		}
+	}
+
+	private void closeCommandChannel() {
+		// A handshake that is still running is ignored when it completes
+		++_handshakeId;
+		_handshaking = false;
+		Handler h = _handler;
+		if (h != null) {
+			h.removeMessages(HANDSHAKE_TIMEOUT);
+		}
+		CommandDispatcher dispatcher = _dispatcher;
+		if (dispatcher != null) {
+			dispatcher.setChannel(null);
+		}
+	}
+
+	private void setConnectedPackage(@Nullable String packageName) {
+		_connectedPackage = packageName;
+		CommandDispatcher dispatcher = _dispatcher;
+		if (dispatcher != null && packageName != null && packageName.equals(dispatcher.getPackage())) {
+			return;
+		}
+		_dispatcher = packageName != null ? new CommandDispatcher(packageName) : null;
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
 	}
 
 	private void sendStayAwake() {
@@ -931,13 +1464,12 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		if (context == null) {
 			return;
 		}
-		String connectedPackage = _connectedPackage;
-		if (connectedPackage == null) {
+		CommandDispatcher dispatcher = _dispatcher;
+		if (dispatcher == null) {
 			return;
 		}
-		Intent intent = new Intent(_connectedPackage + "." + Constants.ACTION_COMMAND);
-		intent.putExtra(Constants.EXTRA_COMMAND, Constants.VALUE_STAY_AWAKE);
-		context.sendBroadcast(intent);
+		Intent intent = dispatcher.obtain(Constants.VALUE_STAY_AWAKE);
+		dispatcher.send(context, intent, false); // Not journaled, it's sent every few seconds
 	}
 
 	private void connect() {
@@ -960,7 +1492,7 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		_serviceConnecting = true;
 		_appState._initializing = true;
 		_appState._error = false;
-		_connectedPackage = packageInfo.packageName;
+		setConnectedPackage(packageInfo.packageName);
 		fireAppStateChanged();
 
 		_serviceIntent = new Intent();
@@ -975,7 +1507,7 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 		if (!_serviceBound) {
 			_appState._error = true;
-			_connectedPackage = null;
+			setConnectedPackage(null);
 			try {
 				context.unbindService(this);
 			} catch (Throwable ignored) {
@@ -990,8 +1522,8 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	private void disconnect() {
 		unregisterAppStateReceivers();
-		_delayedNetwork = _delayedUsername = _delayedPassword = null;
-		_delayedPerishable = false;
+		closeCommandChannel();
+		_pendingCommands.clear();
 		if (!_serviceBound) {
 			return;
 		}
@@ -1068,6 +1600,7 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			_appState._lastError = intToError(intent.getIntExtra(Constants.EXTRA_STATE_LAST_ERROR, Error.NONE.ordinal()));
 			_appState._externalId = intent.getStringExtra(Constants.EXTRA_EID);
 		}
+		Zello.getInstance().journal.record(JournalEventType.APP_STATE, _appState._username, _appState._lastError.toString(), _appState.getFlags());
 		fireAppStateChanged();
 	}
 
@@ -1080,31 +1613,31 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			out = intent.getBooleanExtra(Constants.EXTRA_MESSAGE_OUT, false);
 			in = !out && intent.getBooleanExtra(Constants.EXTRA_MESSAGE_IN, false);
 			if (out) {
-				_messageOut._to._name = intent.getStringExtra(Constants.EXTRA_CONTACT_NAME);
-				_messageOut._to._fullName = intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME);
-				_messageOut._to._displayName = intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME);
+				_messageOut._to._name = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_NAME));
+				_messageOut._to._fullName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME));
+				_messageOut._to._displayName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME));
 				_messageOut._to._type = intToContactType(intent.getIntExtra(Constants.EXTRA_CONTACT_TYPE, -1));
 				_messageOut._to._status = intToContactStatus(intent.getIntExtra(Constants.EXTRA_CONTACT_STATUS, 0));
-				_messageOut._to._statusMessage = intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE);
+				_messageOut._to._statusMessage = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE));
 				_messageOut._to._usersCount = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_COUNT, 0);
 				_messageOut._to._usersTotal = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_TOTAL, 0);
 				_messageOut._active = true;
 				_messageOut._connecting = intent.getBooleanExtra(Constants.EXTRA_MESSAGE_CONNECTING, false);
 			}
 			if (in) {
-				_messageIn._from._name = intent.getStringExtra(Constants.EXTRA_CONTACT_NAME);
-				_messageIn._from._fullName = intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME);
-				_messageIn._from._displayName = intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME);
+				_messageIn._from._name = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_NAME));
+				_messageIn._from._fullName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME));
+				_messageIn._from._displayName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME));
 				_messageIn._from._type = intToContactType(intent.getIntExtra(Constants.EXTRA_CONTACT_TYPE, -1));
 				_messageIn._from._status = intToContactStatus(intent.getIntExtra(Constants.EXTRA_CONTACT_STATUS, 0));
-				_messageIn._from._statusMessage = intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE);
+				_messageIn._from._statusMessage = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE));
 				_messageIn._from._usersCount = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_COUNT, 0);
 				_messageIn._from._usersTotal = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_TOTAL, 0);
-				_messageIn._author._name = intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_NAME);
-				_messageIn._author._fullName = intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_FULL_NAME);
-				_messageIn._author._displayName = intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_DISPLAY_NAME);
+				_messageIn._author._name = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_NAME));
+				_messageIn._author._fullName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_FULL_NAME));
+				_messageIn._author._displayName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_DISPLAY_NAME));
 				_messageIn._author._status = intToContactStatus(intent.getIntExtra(Constants.EXTRA_CHANNEL_AUTHOR_STATUS, 0));
-				_messageIn._author._statusMessage = intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_STATUS_MESSAGE);
+				_messageIn._author._statusMessage = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CHANNEL_AUTHOR_STATUS_MESSAGE));
 				_messageIn._active = true;
 			}
 		}
@@ -1114,9 +1647,18 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		if (!out) {
 			_messageOut.reset();
 		}
+		_publishedMessageIn = _messageIn.clone();
+		_publishedMessageOut = _messageOut.clone();
+		Zello.getInstance().messageInPublisher.publish(_publishedMessageIn);
+		Zello.getInstance().messageOutPublisher.publish(_publishedMessageOut);
+		Zello.getInstance().journal.record(JournalEventType.MESSAGE_STATE, in ? _messageIn._from._name : out ? _messageOut._to._name : null,
+				in ? _messageIn._author._name : null, (in ? JournalEntry.MESSAGE_IN : 0) | (out ? JournalEntry.MESSAGE_OUT : 0) | (_messageOut._connecting ? JournalEntry.MESSAGE_CONNECTING : 0));
 
-		for (Events event : Zello.getInstance().events) {
-			event.onMessageStateChanged();
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (MessageStateListener listener : Zello.getInstance().messageStateListeners.get()) {
+			long start = watchdog.start();
+			listener.onMessageStateChanged();
+			watchdog.end(listener, start);
 		}
 	}
 
@@ -1141,7 +1683,7 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		if (connectedPackage == null) {
 			return;
 		}
-		_contacts = new Contacts(connectedPackage, context, _handler);
+		_contacts = new Contacts(connectedPackage, context, _handler, _handler != null ? _lowLaneExecutor : null, _contactsBackgroundQuery, _contactsCoalescingWindow, _contactsCoalescingMaxLatency, _contactsQuery);
 	}
 
 	private void updateSelectedContact(@Nullable Intent intent) {
@@ -1149,24 +1691,31 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		boolean selected = name != null && name.length() > 0;
 		if (selected) {
 			// Update info
-			_selectedContact._name = name;
-			_selectedContact._fullName = intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME);
-			_selectedContact._displayName = intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME);
+			_selectedContact._name = StringPool.intern(name);
+			_selectedContact._fullName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_FULL_NAME));
+			_selectedContact._displayName = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_DISPLAY_NAME));
 			_selectedContact._type = intToContactType(intent.getIntExtra(Constants.EXTRA_CONTACT_TYPE, -1));
 			_selectedContact._status = intToContactStatus(intent.getIntExtra(Constants.EXTRA_CONTACT_STATUS, 0));
-			_selectedContact._statusMessage = intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE);
+			_selectedContact._statusMessage = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_STATUS_MESSAGE));
 			_selectedContact._usersCount = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_COUNT, 0);
 			_selectedContact._usersTotal = intent.getIntExtra(Constants.EXTRA_CHANNEL_USERS_TOTAL, 0);
-			_selectedContact._title = intent.getStringExtra(Constants.EXTRA_CONTACT_TITLE);
+			_selectedContact._title = StringPool.intern(intent.getStringExtra(Constants.EXTRA_CONTACT_TITLE));
 			_selectedContact._muted = intent.getIntExtra(Constants.EXTRA_CONTACT_MUTED, 0) != 0;
 			_selectedContact._noDisconnect = intent.getIntExtra(Constants.EXTRA_CHANNEL_NO_DISCONNECT,
 					_selectedContact._type != ContactType.CHANNEL && _selectedContact._type != ContactType.GROUP && _selectedContact._type != ContactType.CONVERSATION ? 1 : 0) != 0;
 		} else {
 			_selectedContact.reset();
 		}
+		_publishedSelectedContact = _selectedContact.clone();
+		Zello.getInstance().selectedContactPublisher.publish(_publishedSelectedContact);
+		Zello.getInstance().commands.onSelectedContact(_publishedSelectedContact);
+		Zello.getInstance().journal.record(JournalEventType.SELECTED_CONTACT, _selectedContact._name, null, _selectedContact._type.ordinal());
 
-		for (Events event : Zello.getInstance().events) {
-			event.onSelectedContactChanged();
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (SelectedContactListener listener : Zello.getInstance().selectedContactListeners.get()) {
+			long start = watchdog.start();
+			listener.onSelectedContactChanged();
+			watchdog.end(listener, start);
 		}
 	}
 
@@ -1175,8 +1724,12 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			return;
 		}
 		Tab tab = stringToTab(intent.getStringExtra(Constants.EXTRA_TAB));
-		for (Events event : Zello.getInstance().events) {
-			event.onLastContactsTabChanged(tab);
+		Zello.getInstance().journal.record(JournalEventType.LAST_CONTACTS_TAB, null, tab.toString(), 0);
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (LastContactsTabListener listener : Zello.getInstance().lastContactsTabListeners.get()) {
+			long start = watchdog.start();
+			listener.onLastContactsTabChanged(tab);
+			watchdog.end(listener, start);
 		}
 	}
 
@@ -1185,9 +1738,13 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 			return;
 		}
 		PermissionError error = intToPermissionError(intent.getIntExtra(Constants.EXTRA_LATEST_PERMISSION_ERROR, PermissionError.NONE.ordinal()));
+		Zello.getInstance().journal.record(JournalEventType.PERMISSION_ERROR, null, error.toString(), 0);
 		if (error == PermissionError.MICROPHONE_NOT_GRANTED) {
-			for (Events event : Zello.getInstance().events) {
-				event.onMicrophonePermissionNotGranted();
+			ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+			for (MicrophonePermissionListener listener : Zello.getInstance().microphonePermissionListeners.get()) {
+				long start = watchdog.start();
+				listener.onMicrophonePermissionNotGranted();
+				watchdog.end(listener, start);
 			}
 		}
 	}
@@ -1200,13 +1757,21 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		BluetoothAccessoryState state = intToBtAccessoryState(intent.getIntExtra(Constants.EXTRA_STATE, BluetoothAccessoryState.ERROR.ordinal()));
 		String name = intent.getStringExtra(Constants.EXTRA_NAME);
 		String description = intent.getStringExtra(Constants.EXTRA_DESCRIPTION);
-		for (Events event : Zello.getInstance().events) {
-			event.onBluetoothAccessoryStateChanged(type, state, name, description);
+		Zello.getInstance().journal.record(JournalEventType.BLUETOOTH_ACCESSORY, name, state.toString(), type.ordinal());
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (BluetoothAccessoryListener listener : Zello.getInstance().bluetoothAccessoryListeners.get()) {
+			long start = watchdog.start();
+			listener.onBluetoothAccessoryStateChanged(type, state, name, description);
+			watchdog.end(listener, start);
 		}
 	}
 
 	private boolean isConnected() {
-		return _serviceBound && !_serviceConnecting;
+		return _serviceBound && !_serviceConnecting && !_handshaking;
+	}
+
+	private boolean isConnecting() {
+		return _serviceBound && (_serviceConnecting || _handshaking);
 	}
 
 	private boolean isAppAvailable() {
@@ -1227,9 +1792,51 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		return false;
 	}
 
+	/**
+	 * Publish the app state and schedule a notification.
+	 * The copy returned by the getters is updated right away; listeners are notified once per message posted to
+	 * the main looper, so state changes made before it is handled result in one notification with the final state.
+	 */
 	private void fireAppStateChanged() {
-		for (Events event : Zello.getInstance().events) {
-			event.onAppStateChanged();
+		int changedFields = _appState.getChangedFields(_publishedAppState);
+		if (changedFields == 0) {
+			// Nothing that listeners can see has changed
+			++_suppressedAppStateChanges;
+			return;
+		}
+		_publishedAppState = _appState.clone();
+		_pendingAppStateFields |= changedFields;
+		if (_appStateChangePending) {
+			++_suppressedAppStateChanges;
+			return;
+		}
+		Handler h = _handler;
+		if (h == null) {
+			dispatchAppStateChanged();
+			return;
+		}
+		_appStateChangePending = true;
+		h.sendEmptyMessage(APP_STATE_CHANGED);
+	}
+
+	private void dispatchAppStateChanged() {
+		int changedFields = _pendingAppStateFields;
+		_pendingAppStateFields = 0;
+		if (changedFields == 0) {
+			return;
+		}
+		Zello.getInstance().appStatePublisher.publish(_publishedAppState);
+		Zello.getInstance().commands.onAppState(_publishedAppState);
+		ListenerWatchdog watchdog = Zello.getInstance().watchdog;
+		for (AppStateListener listener : Zello.getInstance().appStateListeners.get()) {
+			long start = watchdog.start();
+			listener.onAppStateChanged();
+			watchdog.end(listener, start);
+		}
+		for (AppStateChangeListener listener : Zello.getInstance().appStateChangeListeners.get()) {
+			long start = watchdog.start();
+			listener.onAppStateFieldsChanged(changedFields);
+			watchdog.end(listener, start);
 		}
 	}
 
@@ -1302,6 +1909,21 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 		}
 	}
 
+	static int contactTypeToInt(@NonNull ContactType type) {
+		switch (type) {
+			case CHANNEL:
+				return 1;
+			case GROUP:
+				return 3;
+			case GATEWAY:
+				return 2;
+			case CONVERSATION:
+				return 4;
+			default:
+				return 0;
+		}
+	}
+
 	static @NonNull ContactStatus intToContactStatus(int status) {
 		switch (status) {
 			case 1:
@@ -1421,4 +2043,57 @@ class Sdk implements SafeHandlerEvents, ServiceConnection {
 
 	//endregion
 
+	private static class LaneItem {
+
+		final @NonNull Object data; // Intent on the high lane, Runnable on the low lane
+		final long received;
+
+		LaneItem(@NonNull Object data, long received) {
+			this.data = data;
+			this.received = received;
+		}
+
+	}
+
+	/**
+	 * Sends the commands of a batch one at a time with a pause after each one.
+	 */
+	private class BatchSender implements Runnable {
+
+		private final @NonNull CommandBatch _batch;
+		private final @NonNull CommandBatch.Item[] _items;
+		private final @Nullable CommandBatchListener _listener;
+		private int _index;
+		private int _sentCount;
+
+		BatchSender(@NonNull CommandBatch batch, @NonNull CommandBatch.Item[] items, @Nullable CommandBatchListener listener) {
+			_batch = batch;
+			_items = items;
+			_listener = listener;
+		}
+
+		@Override
+		public void run() {
+			while (_index < _items.length) {
+				int index = _index++;
+				boolean sent = sendBatchItem(_items[index]);
+				if (sent) {
+					++_sentCount;
+				}
+				if (_listener != null) {
+					_listener.onBatchItemResult(_batch, index, sent);
+				}
+				Handler h = _handler;
+				if (sent && _index < _items.length && h != null) {
+					h.postDelayed(this, BATCH_ITEM_INTERVAL);
+					return;
+				}
+			}
+			if (_listener != null) {
+				_listener.onBatchCompleted(_batch, _sentCount);
+			}
+		}
+
+	}
+
 }
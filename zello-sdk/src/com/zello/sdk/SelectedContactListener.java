@@ -0,0 +1,26 @@
+package com.zello.sdk;
+
+/**
+ * The <code>SelectedContactListener</code> interface receives notifications about changes of the selected contact.
+ * <p>
+ * Subscribe with {@link Zello#subscribeToSelectedContact(SelectedContactListener)} to receive only this kind of notification,
+ * or implement {@link Events} to receive all of them.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public interface SelectedContactListener {
+
+	/**
+	 * <p>
+	 * Called when the selected contact changes.
+	 * </p>
+	 * <p>
+	 * This method is invoked on the UI thread.
+	 * </p>
+	 *
+	 * @see Zello#getSelectedContact(Contact)
+	 * @see Events#onSelectedContactChanged()
+	 */
+	void onSelectedContactChanged();
+
+}
@@ -0,0 +1,221 @@
+package com.zello.sdk;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>
+ *     The <code>StatePublisher</code> class publishes a stream of snapshots of an SDK state.
+ * </p>
+ * <p>
+ *     Values of mutable types such as {@link AppState} or {@link Contact} are copied for every subscriber and for
+ *     every call to {@link #getValue()}, so a consumer that modifies its value doesn't affect anyone else.
+ * </p>
+ * <p>
+ *     A new subscriber first receives the current value, if there is one, followed by every value published after that.
+ *     Subscribers control the pace with {@link StateSubscription#request(long)}; values that arrive faster than
+ *     they are requested are buffered in the subscription according to its {@link EventsOverflowPolicy}.
+ *     With {@link EventsOverflowPolicy#CONFLATE}, only the latest pending value is kept.
+ * </p>
+ * <p>
+ *     Values are taken from the same broadcasts that drive {@link Events}, so subscribing doesn't cause any extra
+ *     communication with the ZelloWork app. All subscriptions are cancelled when the SDK is unconfigured.
+ * </p>
+ *
+ * @param <T> Type of the values.
+ * @see Zello#getAppStatePublisher()
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class StatePublisher<T> {
+
+	private volatile @Nullable T _value; // Shared with the SDK; never handed out without copying
+	private final @Nullable Copier<T> _copier; // Null for immutable values
+	private final @NonNull ListenerRegistry<Subscription<T>> _subscriptions;
+
+	StatePublisher() {
+		this(null);
+	}
+
+	@SuppressWarnings("unchecked")
+	StatePublisher(@Nullable Copier<T> copier) {
+		_copier = copier;
+		_subscriptions = new ListenerRegistry<Subscription<T>>(new Subscription[0]);
+	}
+
+	/**
+	 * Returns the last published value.
+	 * @return Nullable; a copy of the value or <code>null</code> if nothing has been published yet.
+	 */
+	public @Nullable T getValue() {
+		T value = _value;
+		return value != null ? copy(value) : null;
+	}
+
+	/**
+	 * <p>
+	 *     Subscribes to the values with a buffer that only keeps the latest pending value.
+	 * </p>
+	 * <p>
+	 *     {@link StateSubscriber#onSubscribe(StateSubscription)} is called before the method returns.
+	 * </p>
+	 * @param subscriber Subscriber.
+	 * @see #subscribe(StateSubscriber, int, EventsOverflowPolicy)
+	 */
+	public void subscribe(@NonNull StateSubscriber<? super T> subscriber) {
+		subscribe(subscriber, 1, EventsOverflowPolicy.CONFLATE);
+	}
+
+	/**
+	 * <p>
+	 *     Subscribes to the values with a buffer of the specified size.
+	 * </p>
+	 * <p>
+	 *     {@link StateSubscriber#onSubscribe(StateSubscription)} is called before the method returns.
+	 * </p>
+	 * @param subscriber Subscriber.
+	 * @param capacity Maximum number of values waiting to be requested.
+	 * @param policy What to do with pending values when a new value arrives and the buffer is full.
+	 *               {@link EventsOverflowPolicy#CONFLATE} always keeps only the latest value regardless of the capacity.
+	 */
+	public void subscribe(@NonNull StateSubscriber<? super T> subscriber, int capacity, @NonNull EventsOverflowPolicy policy) {
+		Subscription<T> subscription = new Subscription<>(this, subscriber, capacity, policy);
+		_subscriptions.add(subscription);
+		// Read the value after subscribing so that a concurrent update is never replayed out of order
+		T value = _value;
+		if (value != null) {
+			subscription.offer(value);
+		}
+		try {
+			subscriber.onSubscribe(subscription);
+		} catch (Throwable t) {
+			Log.i("zello sdk", "Error in StatePublisher.subscribe: " + t.toString());
+		}
+	}
+
+	//region Package Private Methods
+
+	void publish(@NonNull T value) {
+		_value = value;
+		for (Subscription<T> subscription : _subscriptions.get()) {
+			subscription.offer(value);
+		}
+	}
+
+	@NonNull T copy(@NonNull T value) {
+		Copier<T> copier = _copier;
+		return copier != null ? copier.copy(value) : value;
+	}
+
+	/**
+	 * Cancel all subscriptions and forget the last value.
+	 */
+	void clear() {
+		_value = null;
+		for (Subscription<T> subscription : _subscriptions.get()) {
+			subscription.cancel();
+		}
+		_subscriptions.clear();
+	}
+
+	//endregion
+
+	/**
+	 * Makes a private copy of a mutable value.
+	 */
+	interface Copier<T> {
+
+		@NonNull T copy(@NonNull T value);
+
+	}
+
+	private static class Subscription<T> implements StateSubscription {
+
+		private final @NonNull StatePublisher<T> _publisher;
+		private final @NonNull StateSubscriber<? super T> _subscriber;
+		private final int _capacity;
+		private final @NonNull EventsOverflowPolicy _policy;
+		private final @NonNull ArrayDeque<T> _pending = new ArrayDeque<>(); // Guarded by this
+		private long _demand; // Guarded by this
+		private boolean _draining; // Guarded by this
+		private volatile boolean _cancelled;
+
+		Subscription(@NonNull StatePublisher<T> publisher, @NonNull StateSubscriber<? super T> subscriber, int capacity, @NonNull EventsOverflowPolicy policy) {
+			_publisher = publisher;
+			_subscriber = subscriber;
+			_capacity = Math.max(capacity, 1);
+			_policy = policy;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				return;
+			}
+			synchronized (this) {
+				_demand = _demand + n < 0 ? Long.MAX_VALUE : _demand + n;
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			_cancelled = true;
+			synchronized (this) {
+				_pending.clear();
+			}
+			_publisher._subscriptions.remove(this);
+		}
+
+		void offer(@NonNull T value) {
+			if (_cancelled) {
+				return;
+			}
+			synchronized (this) {
+				if (_policy == EventsOverflowPolicy.CONFLATE) {
+					_pending.clear();
+				} else if (_pending.size() >= _capacity) {
+					_pending.pollFirst();
+				}
+				_pending.addLast(value);
+			}
+			drain();
+		}
+
+		/**
+		 * Deliver pending values while there is demand. Only one thread delivers at a time; values offered or
+		 * requested from inside <code>onNext</code> are picked up by the loop that is already running.
+		 */
+		private void drain() {
+			synchronized (this) {
+				if (_draining) {
+					return;
+				}
+				_draining = true;
+			}
+			while (true) {
+				T value;
+				synchronized (this) {
+					if (_cancelled || _demand == 0 || _pending.isEmpty()) {
+						_draining = false;
+						return;
+					}
+					value = _pending.pollFirst();
+					if (_demand != Long.MAX_VALUE) {
+						--_demand;
+					}
+				}
+				try {
+					_subscriber.onNext(_publisher.copy(value));
+				} catch (Throwable t) {
+					Log.i("zello sdk", "Error in StatePublisher.drain: " + t.toString());
+				}
+			}
+		}
+
+	}
+
+}
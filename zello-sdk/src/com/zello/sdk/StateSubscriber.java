@@ -0,0 +1,32 @@
+package com.zello.sdk;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The <code>StateSubscriber</code> interface receives the values published by a {@link StatePublisher}.
+ * <p>
+ * Calls to a subscriber never overlap. Values are delivered on the thread that publishes them, which is the UI thread
+ * for all SDK publishers, or on the thread that calls {@link StateSubscription#request(long)} when values are waiting.
+ * </p>
+ *
+ * @param <T> Type of the values.
+ * @see StatePublisher#subscribe(StateSubscriber)
+ */
+@SuppressWarnings("unused")
+public interface StateSubscriber<T> {
+
+	/**
+	 * Called once when the subscriber is subscribed. No values are delivered until some are requested.
+	 *
+	 * @param subscription The subscription; use it to request values and to cancel the subscription.
+	 */
+	void onSubscribe(@NonNull StateSubscription subscription);
+
+	/**
+	 * Called for each requested value.
+	 *
+	 * @param value The value. Values are immutable snapshots and can be kept or passed to other threads.
+	 */
+	void onNext(@NonNull T value);
+
+}
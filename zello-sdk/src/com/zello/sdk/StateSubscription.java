@@ -0,0 +1,32 @@
+package com.zello.sdk;
+
+/**
+ * The <code>StateSubscription</code> interface links a {@link StateSubscriber} to a {@link StatePublisher}.
+ * <p>
+ * Methods of the subscription can be called from any thread, including from inside {@link StateSubscriber#onNext(Object)}.
+ * </p>
+ * @see StatePublisher#subscribe(StateSubscriber)
+ */
+@SuppressWarnings("unused")
+public interface StateSubscription {
+
+	/**
+	 * <p>
+	 * Requests more values.
+	 * </p>
+	 * <p>
+	 * The publisher doesn't call {@link StateSubscriber#onNext(Object)} more times than requested in total.
+	 * Values that arrive while there is no demand wait in the subscription buffer.
+	 * Pass <code>Long.MAX_VALUE</code> to receive every value as soon as it is published.
+	 * </p>
+	 *
+	 * @param n Number of additional values; must be positive.
+	 */
+	void request(long n);
+
+	/**
+	 * Stops the delivery of values and releases the subscription. Pending values are discarded.
+	 */
+	void cancel();
+
+}
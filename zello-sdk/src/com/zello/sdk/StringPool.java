@@ -0,0 +1,76 @@
+package com.zello.sdk;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Pool of shared string instances for contact names, titles and status messages.
+ * <p>
+ * Every contact list query and every broadcast from the ZelloWork app produces new copies of the same strings.
+ * Passing them through the pool lets consecutive snapshots, incoming messages and the selected contact share
+ * a single instance of each value. Strings are held weakly, so the pool never keeps a value alive on its own.
+ * </p>
+ * <p>
+ * The pool is split into segments with separate locks, so that threads reading contacts don't wait for each other.
+ * Its capacity grows with the size of the contact list; when a segment still overflows, only that segment is emptied.
+ * </p>
+ */
+class StringPool {
+
+	private static final int _segmentCount = 16; // Power of two
+	private static final int _minSize = 32768;
+	private static final int _stringsPerContact = 5; // Name, full name, display name, title and status message
+
+	private static final WeakHashMap<?, ?>[] _segments = new WeakHashMap<?, ?>[_segmentCount]; // Each guarded by itself
+	private static volatile int _segmentSize = _minSize / _segmentCount;
+
+	static {
+		for (int i = 0; i < _segmentCount; ++i) {
+			_segments[i] = new WeakHashMap<String, WeakReference<String>>();
+		}
+	}
+
+	/**
+	 * Make sure the pool can hold the strings of a contact list without evicting any of them.
+	 *
+	 * @param contacts Number of contacts in the list
+	 */
+	static void reserve(int contacts) {
+		// Twice the size of the list leaves room for the strings of the previous snapshot that aren't collected yet
+		long size = Math.max((long) _minSize, 2L * contacts * _stringsPerContact);
+		int segmentSize = (int) Math.min(Integer.MAX_VALUE, size / _segmentCount);
+		if (segmentSize > _segmentSize) {
+			_segmentSize = segmentSize;
+		}
+	}
+
+	/**
+	 * Find a pooled instance of a string.
+	 *
+	 * @param s String to look up
+	 * @return Pooled string equal to s, or s itself if it wasn't in the pool yet
+	 */
+	@SuppressWarnings("unchecked")
+	static @Nullable String intern(@Nullable String s) {
+		if (s == null || s.isEmpty()) {
+			return s;
+		}
+		int hash = s.hashCode();
+		WeakHashMap<String, WeakReference<String>> segment = (WeakHashMap<String, WeakReference<String>>) _segments[(hash ^ (hash >>> 16)) & (_segmentCount - 1)];
+		synchronized (segment) {
+			WeakReference<String> ref = segment.get(s);
+			String pooled = ref != null ? ref.get() : null;
+			if (pooled != null) {
+				return pooled;
+			}
+			if (segment.size() >= _segmentSize) {
+				segment.clear();
+			}
+			segment.put(s, new WeakReference<>(s));
+		}
+		return s;
+	}
+
+}
@@ -2,8 +2,11 @@ package com.zello.sdk;
 
 import android.app.Activity;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -22,8 +25,48 @@ import androidx.annotation.Nullable;
 public class Zello {
 
 	private static volatile Zello _instance;
-
-	final @NonNull ArrayList<Events> events = new ArrayList<>();
+	private static final int _defaultEventsQueueSize = 64;
+
+	final @NonNull ListenerRegistry<SelectedContactListener> selectedContactListeners = new ListenerRegistry<>(new SelectedContactListener[0]);
+	final @NonNull ListenerRegistry<MessageStateListener> messageStateListeners = new ListenerRegistry<>(new MessageStateListener[0]);
+	final @NonNull ListenerRegistry<AppStateListener> appStateListeners = new ListenerRegistry<>(new AppStateListener[0]);
+	final @NonNull ListenerRegistry<AppStateChangeListener> appStateChangeListeners = new ListenerRegistry<>(new AppStateChangeListener[0]);
+	final @NonNull ListenerRegistry<LastContactsTabListener> lastContactsTabListeners = new ListenerRegistry<>(new LastContactsTabListener[0]);
+	final @NonNull ListenerRegistry<ContactsListener> contactsListeners = new ListenerRegistry<>(new ContactsListener[0]);
+	final @NonNull ListenerRegistry<AudioStateListener> audioStateListeners = new ListenerRegistry<>(new AudioStateListener[0]);
+	final @NonNull ListenerRegistry<MicrophonePermissionListener> microphonePermissionListeners = new ListenerRegistry<>(new MicrophonePermissionListener[0]);
+	final @NonNull ListenerRegistry<BluetoothAccessoryListener> bluetoothAccessoryListeners = new ListenerRegistry<>(new BluetoothAccessoryListener[0]);
+	final @NonNull ListenerRegistry<ContactsSnapshotListener> contactsSnapshotListeners = new ListenerRegistry<>(new ContactsSnapshotListener[0]);
+	final @NonNull ListenerRegistry<ContactsDiffListener> contactsDiffListeners = new ListenerRegistry<>(new ContactsDiffListener[0]);
+	final @NonNull StatePublisher<AppState> appStatePublisher = new StatePublisher<>(new StatePublisher.Copier<AppState>() {
+		@Override
+		public @NonNull AppState copy(@NonNull AppState value) {
+			return value.clone();
+		}
+	});
+	final @NonNull StatePublisher<MessageIn> messageInPublisher = new StatePublisher<>(new StatePublisher.Copier<MessageIn>() {
+		@Override
+		public @NonNull MessageIn copy(@NonNull MessageIn value) {
+			return value.clone();
+		}
+	});
+	final @NonNull StatePublisher<MessageOut> messageOutPublisher = new StatePublisher<>(new StatePublisher.Copier<MessageOut>() {
+		@Override
+		public @NonNull MessageOut copy(@NonNull MessageOut value) {
+			return value.clone();
+		}
+	});
+	final @NonNull StatePublisher<Contact> selectedContactPublisher = new StatePublisher<>(new StatePublisher.Copier<Contact>() {
+		@Override
+		public @NonNull Contact copy(@NonNull Contact value) {
+			return value.clone();
+		}
+	});
+	final @NonNull StatePublisher<AudioMode> audioModePublisher = new StatePublisher<>();
+	final @NonNull StatePublisher<ContactsSnapshot> contactsPublisher = new StatePublisher<>();
+	final @NonNull EventJournal journal = new EventJournal(512);
+	final @NonNull ListenerWatchdog watchdog = new ListenerWatchdog();
+	final @NonNull CommandTracker commands = new CommandTracker();
 
 	private @Nullable Sdk _sdk;
 	// Protect against multiple attempts to configure SDK.
@@ -165,16 +208,82 @@ public class Zello {
 
 	/**
 	 * Subscribes for Zello SDK <code>Events</code>.
+	 * <p>
+	 * Handlers can be subscribed and unsubscribed from any thread, including from inside an event callback.
+	 * </p>
 	 *
 	 * @param event Events handler.
 	 * @see Events
 	 */
 	public void subscribeToEvents(@NonNull Events event) {
-		if (!events.contains(event)) {
-			events.add(event);
+		addEvents(event);
+	}
+
+	/**
+	 * Subscribes for Zello SDK <code>Events</code> and optionally replays the current state to the handler.
+	 * <p>
+	 * With <code>replay</code> set, <code>onAppStateChanged()</code>, <code>onMessageStateChanged()</code> and
+	 * <code>onSelectedContactChanged()</code> are called before the method returns, on the calling thread,
+	 * so the handler can read the state from the getters right away instead of waiting for the next broadcast.
+	 * <code>onAudioStateChanged()</code> is also called if the {@link Audio} object is in use.
+	 * Nothing is replayed if the SDK is not configured.
+	 * </p>
+	 *
+	 * @param event Events handler.
+	 * @param replay Replay the current state.
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToEvents(@NonNull Events event, boolean replay) {
+		addEvents(event);
+		if (replay) {
+			replayEvents(event);
 		}
 	}
 
+	/**
+	 * Subscribes for Zello SDK <code>Events</code> that are delivered on the specified <code>Executor</code>.
+	 * <p>
+	 * Use this method to keep slow handlers, such as ones that write to disk, off the UI thread.
+	 * Callbacks are delivered one at a time and in order. If they arrive faster than the executor runs them,
+	 * repeated state callbacks are merged, see {@link EventsOverflowPolicy#CONFLATE}.
+	 * </p>
+	 * <p>
+	 * The state getters, such as {@link #getAppState(AppState)} or {@link #getMessageIn(MessageIn)}, are safe to call
+	 * from the executor threads.
+	 * </p>
+	 *
+	 * @param event Events handler.
+	 * @param executor Executor to run the callbacks on.
+	 * @see #subscribeToEvents(Events, Executor, int, EventsOverflowPolicy)
+	 * @see #unsubscribeFromEvents(Events)
+	 */
+	public void subscribeToEvents(@NonNull Events event, @NonNull Executor executor) {
+		subscribeToEvents(event, executor, _defaultEventsQueueSize, EventsOverflowPolicy.CONFLATE);
+	}
+
+	/**
+	 * Subscribes for Zello SDK <code>Events</code> that are delivered on the specified <code>Executor</code>.
+	 * <p>
+	 * Each handler has its own queue of pending callbacks. When the queue is full, <code>policy</code> decides
+	 * which callbacks are dropped.
+	 * </p>
+	 * <p>
+	 * If the handler is already subscribed, the earlier subscription is replaced.
+	 * </p>
+	 *
+	 * @param event Events handler.
+	 * @param executor Executor to run the callbacks on.
+	 * @param queueSize Maximum number of pending callbacks.
+	 * @param policy What to do with callbacks that don't fit in the queue.
+	 * @see #subscribeToEvents(Events, Executor)
+	 * @see EventsOverflowPolicy
+	 */
+	public void subscribeToEvents(@NonNull Events event, @NonNull Executor executor, int queueSize, @NonNull EventsOverflowPolicy policy) {
+		// Handlers are matched by the handler they wrap, so an earlier subscription would hide this one
+		unsubscribeFromEvents(event);
+		addEvents(new ExecutorEvents(event, executor, queueSize, policy));
+	}
+
 	/**
 	 * Unsubscribes from Zello SDK <code>Events</code>.
 	 *
@@ -182,7 +291,371 @@ public class Zello {
 	 * @see Events
 	 */
 	public void unsubscribeFromEvents(@NonNull Events event) {
-		events.remove(event);
+		Object removed = selectedContactListeners.remove(event);
+		messageStateListeners.remove(event);
+		appStateListeners.remove(event);
+		lastContactsTabListeners.remove(event);
+		contactsListeners.remove(event);
+		audioStateListeners.remove(event);
+		microphonePermissionListeners.remove(event);
+		bluetoothAccessoryListeners.remove(event);
+		if (removed instanceof ListenerWrapper) {
+			((ListenerWrapper) removed).close();
+		}
+	}
+
+	/**
+	 * Subscribes for notifications about the selected contact.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see SelectedContactListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToSelectedContact(@NonNull SelectedContactListener listener) {
+		selectedContactListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the selected contact.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see SelectedContactListener
+	 */
+	public void unsubscribeFromSelectedContact(@NonNull SelectedContactListener listener) {
+		selectedContactListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about the message state.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see MessageStateListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToMessageState(@NonNull MessageStateListener listener) {
+		messageStateListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the message state.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see MessageStateListener
+	 */
+	public void unsubscribeFromMessageState(@NonNull MessageStateListener listener) {
+		messageStateListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about the app state.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see AppStateListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToAppState(@NonNull AppStateListener listener) {
+		appStateListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the app state.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see AppStateListener
+	 */
+	public void unsubscribeFromAppState(@NonNull AppStateListener listener) {
+		appStateListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about changes of individual app state fields.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see AppStateChangeListener
+	 */
+	public void subscribeToAppStateChanges(@NonNull AppStateChangeListener listener) {
+		appStateChangeListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about changes of individual app state fields.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see AppStateChangeListener
+	 */
+	public void unsubscribeFromAppStateChanges(@NonNull AppStateChangeListener listener) {
+		appStateChangeListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about the last contacts tab.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see LastContactsTabListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToLastContactsTab(@NonNull LastContactsTabListener listener) {
+		lastContactsTabListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the last contacts tab.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see LastContactsTabListener
+	 */
+	public void unsubscribeFromLastContactsTab(@NonNull LastContactsTabListener listener) {
+		lastContactsTabListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about the contact list.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see ContactsListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToContacts(@NonNull ContactsListener listener) {
+		contactsListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the contact list.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see ContactsListener
+	 */
+	public void unsubscribeFromContacts(@NonNull ContactsListener listener) {
+		contactsListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about the audio state.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see AudioStateListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToAudioState(@NonNull AudioStateListener listener) {
+		audioStateListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about the audio state.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see AudioStateListener
+	 */
+	public void unsubscribeFromAudioState(@NonNull AudioStateListener listener) {
+		audioStateListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about microphone permission errors.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see MicrophonePermissionListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToMicrophonePermission(@NonNull MicrophonePermissionListener listener) {
+		microphonePermissionListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about microphone permission errors.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see MicrophonePermissionListener
+	 */
+	public void unsubscribeFromMicrophonePermission(@NonNull MicrophonePermissionListener listener) {
+		microphonePermissionListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for notifications about Bluetooth accessory state.
+	 *
+	 * @param listener Listener to subscribe.
+	 * @see BluetoothAccessoryListener
+	 * @see #subscribeToEvents(Events)
+	 */
+	public void subscribeToBluetoothAccessories(@NonNull BluetoothAccessoryListener listener) {
+		bluetoothAccessoryListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from notifications about Bluetooth accessory state.
+	 *
+	 * @param listener Listener to unsubscribe.
+	 * @see BluetoothAccessoryListener
+	 */
+	public void unsubscribeFromBluetoothAccessories(@NonNull BluetoothAccessoryListener listener) {
+		bluetoothAccessoryListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for contact list snapshots queried in background.
+	 *
+	 * @param listener Snapshot listener.
+	 * @see ContactsSnapshotListener
+	 * @see #setContactsBackgroundQuery(boolean)
+	 */
+	public void subscribeToContactsSnapshots(@NonNull ContactsSnapshotListener listener) {
+		contactsSnapshotListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from contact list snapshots.
+	 *
+	 * @param listener Snapshot listener.
+	 * @see ContactsSnapshotListener
+	 */
+	public void unsubscribeFromContactsSnapshots(@NonNull ContactsSnapshotListener listener) {
+		contactsSnapshotListeners.remove(listener);
+	}
+
+	/**
+	 * Subscribes for incremental contact list changes.
+	 * <p>
+	 * Changes are only computed when background queries are enabled.
+	 * </p>
+	 *
+	 * @param listener Diff listener.
+	 * @see ContactsDiffListener
+	 * @see #setContactsBackgroundQuery(boolean)
+	 */
+	public void subscribeToContactsDiffs(@NonNull ContactsDiffListener listener) {
+		contactsDiffListeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes from incremental contact list changes.
+	 *
+	 * @param listener Diff listener.
+	 * @see ContactsDiffListener
+	 */
+	public void unsubscribeFromContactsDiffs(@NonNull ContactsDiffListener listener) {
+		contactsDiffListeners.remove(listener);
+	}
+
+	/**
+	 * <p>
+	 * Enables or disables the listener watchdog.
+	 * </p>
+	 * <p>
+	 * Listener callbacks run one after another on the UI thread, so a single slow listener delays the callbacks
+	 * of all other listeners, including the ones that show the state of the PTT button. While the watchdog is enabled,
+	 * the SDK times every callback of every listener and reports the ones that take longer than the threshold.
+	 * </p>
+	 * <p>
+	 * When <code>quarantineExecutor</code> is set, an <code>Events</code> handler that is slow three times is moved
+	 * to the executor as if it was subscribed with {@link #subscribeToEvents(Events, Executor)}.
+	 * Listeners subscribed with the other <code>subscribeTo*</code> methods are only reported.
+	 * </p>
+	 *
+	 * @param thresholdMs Time in milliseconds a callback may take. Pass <code>0</code> to disable the watchdog and
+	 *                    discard the collected statistics.
+	 * @param listener Nullable; listener that is notified about slow callbacks.
+	 * @param quarantineExecutor Nullable; executor to move slow <code>Events</code> handlers to.
+	 * @see #getListenerStats()
+	 */
+	public void setListenerWatchdog(long thresholdMs, @Nullable ListenerWatchdogListener listener, @Nullable Executor quarantineExecutor) {
+		watchdog.configure(thresholdMs, listener, quarantineExecutor);
+	}
+
+	/**
+	 * Returns the callback timing statistics collected by the listener watchdog.
+	 *
+	 * @return Statistics of every listener that received a callback while the watchdog was enabled.
+	 * @see #setListenerWatchdog(long, ListenerWatchdogListener, Executor)
+	 */
+	public @NonNull List<ListenerStats> getListenerStats() {
+		return watchdog.getStats();
+	}
+
+	//endregion
+
+	//region State Publishers
+
+	/**
+	 * Returns the publisher of the app state.
+	 * <p>
+	 * A value is published every time {@link Events#onAppStateChanged()} is called.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 */
+	public @NonNull StatePublisher<AppState> getAppStatePublisher() {
+		return appStatePublisher;
+	}
+
+	/**
+	 * Returns the publisher of the incoming message state.
+	 * <p>
+	 * A value is published every time {@link Events#onMessageStateChanged()} is called.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 */
+	public @NonNull StatePublisher<MessageIn> getMessageInPublisher() {
+		return messageInPublisher;
+	}
+
+	/**
+	 * Returns the publisher of the outgoing message state.
+	 * <p>
+	 * A value is published every time {@link Events#onMessageStateChanged()} is called.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 */
+	public @NonNull StatePublisher<MessageOut> getMessageOutPublisher() {
+		return messageOutPublisher;
+	}
+
+	/**
+	 * Returns the publisher of the selected contact.
+	 * <p>
+	 * A value is published every time {@link Events#onSelectedContactChanged()} is called.
+	 * When no contact is selected, the value is a contact with an empty name.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 */
+	public @NonNull StatePublisher<Contact> getSelectedContactPublisher() {
+		return selectedContactPublisher;
+	}
+
+	/**
+	 * Returns the publisher of the current audio mode.
+	 * <p>
+	 * A value is published every time {@link Events#onAudioStateChanged()} is called
+	 * while the {@link Audio} object returned by {@link #getAudio()} is in use.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 */
+	public @NonNull StatePublisher<AudioMode> getAudioModePublisher() {
+		return audioModePublisher;
+	}
+
+	/**
+	 * Returns the publisher of contact list snapshots.
+	 * <p>
+	 * A value is published every time the contact list is read again after a change.
+	 * Snapshots are only published when contacts are queried in background.
+	 * </p>
+	 *
+	 * @return The publisher.
+	 * @see StatePublisher
+	 * @see #setContactsBackgroundQuery(boolean)
+	 */
+	public @NonNull StatePublisher<ContactsSnapshot> getContactsPublisher() {
+		return contactsPublisher;
 	}
 
 	//endregion
@@ -496,6 +969,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>connectChannel()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param channel The name of the channel to connect to.
+	 * @return A handle that completes when the channel is connected.
+	 * @see #connectChannel(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginConnectChannel(@Nullable String channel) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null || channel == null || channel.isEmpty()) {
+			return CommandHandle.failed(Constants.VALUE_CONNECT);
+		}
+		sdk.connectChannel(channel);
+		return commands.track(Constants.VALUE_CONNECT, CommandCondition.channelConnected(channel, true), CommandTracker.TIMEOUT, sdk.getContacts());
+	}
+
 	/**
 	 * Disconnects the user from a channel.
 	 * <p>
@@ -516,6 +1010,68 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>disconnectChannel()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param channel The name of the channel to disconnect from.
+	 * @return A handle that completes when the channel is disconnected.
+	 * @see #disconnectChannel(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginDisconnectChannel(@Nullable String channel) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null || channel == null || channel.isEmpty()) {
+			return CommandHandle.failed(Constants.VALUE_DISCONNECT);
+		}
+		sdk.disconnectChannel(channel);
+		return commands.track(Constants.VALUE_DISCONNECT, CommandCondition.channelConnected(channel, false), CommandTracker.TIMEOUT, sdk.getContacts());
+	}
+
+	//endregion
+
+	//region Batches
+
+	/**
+	 * <p>
+	 * Creates a batch of channel and contact commands.
+	 * </p>
+	 * <p>
+	 * Use a batch to connect to many channels or mute many contacts at once, for example right after signing in.
+	 * The commands are not sent until {@link CommandBatch#commit(CommandBatchListener)} is called.
+	 * </p>
+	 *
+	 * @return A new empty batch.
+	 * @see CommandBatch
+	 */
+	public @NonNull CommandBatch batch() {
+		return new CommandBatch();
+	}
+
+	void commitBatch(@NonNull final CommandBatch batch, @Nullable final CommandBatchListener listener) {
+		Sdk sdk = _sdk;
+		if (sdk != null) {
+			sdk.commitBatch(batch, listener);
+			return;
+		}
+		if (listener == null) {
+			return;
+		}
+		// Nothing was sent; report it on the UI thread like any other result
+		new Handler(Looper.getMainLooper()).post(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < batch.getCount(); ++i) {
+					listener.onBatchItemResult(batch, i, false);
+				}
+				listener.onBatchCompleted(batch, 0);
+			}
+		});
+	}
+
 	//endregion
 
 	//region Contacts
@@ -534,6 +1090,28 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>muteContact()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param contact The contact to mute or unmute.
+	 * @param mute Whether the contact should be muted or not.
+	 * @return A handle that completes when the contact list shows the contact muted or unmuted.
+	 * @see #muteContact(Contact, boolean)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginMuteContact(@Nullable Contact contact, boolean mute) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null || contact == null) {
+			return CommandHandle.failed(mute ? Constants.VALUE_MUTE : Constants.VALUE_UNMUTE);
+		}
+		sdk.muteContact(contact, mute);
+		return commands.track(mute ? Constants.VALUE_MUTE : Constants.VALUE_UNMUTE, CommandCondition.muted(contact.getName(), contact.getType(), mute), CommandTracker.TIMEOUT, sdk.getContacts());
+	}
+
 	//endregion
 
 	//region Authentication
@@ -602,6 +1180,30 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Signs the user into the network and returns a handle to track the result.
+	 * <p>
+	 * This method works like <code>signIn(String, String, String, boolean)</code>. Instead of polling the app state,
+	 * use the returned handle to learn when the user is signed in.
+	 * </p>
+	 *
+	 * @param network The network name or URL.
+	 * @param username The username to authenticate.
+	 * @param password The password for the username.
+	 * @param perishable Whether or not the authentication information should be saved.
+	 * @return A handle that completes when the user is signed in, or fails if sign in was not initiated or didn't succeed in time.
+	 * @see #signIn(String, String, String, boolean)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSignIn(@Nullable String network, @Nullable String username, @Nullable String password, boolean perishable) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null || username == null || !sdk.signIn(network, username, password, perishable)) {
+			return CommandHandle.failed(Constants.VALUE_SIGN_IN);
+		}
+		return commands.track(Constants.VALUE_SIGN_IN, CommandCondition.signedIn(username), CommandTracker.SIGN_IN_TIMEOUT);
+	}
+
 	/**
 	 * Signs out currently signed in user.
 	 * <p>
@@ -623,6 +1225,26 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>signOut()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @return A handle that completes when the user is signed out.
+	 * @see #signOut()
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSignOut() {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SIGN_OUT);
+		}
+		sdk.signOut();
+		return commands.track(Constants.VALUE_SIGN_OUT, CommandCondition.signedOut(), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Cancels the currently running sign in process.
 	 * <p>
@@ -639,6 +1261,26 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>cancelSignIn()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @return A handle that completes when the user is signed out.
+	 * @see #cancelSignIn()
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginCancelSignIn() {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_CANCEL);
+		}
+		sdk.cancel();
+		return commands.track(Constants.VALUE_CANCEL, CommandCondition.signedOut(), CommandTracker.TIMEOUT);
+	}
+
 	//endregion
 
 	//region Locking
@@ -667,6 +1309,28 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>lock()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param applicationName The name of your application.
+	 * @param packageName The package name of your application.
+	 * @return A handle that completes when the app state shows the app locked.
+	 * @see #lock(String, String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginLock(@Nullable String applicationName, @Nullable String packageName) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null || applicationName == null || applicationName.isEmpty()) {
+			return CommandHandle.failed(Constants.VALUE_LOCK);
+		}
+		sdk.lock(applicationName, packageName);
+		return commands.track(Constants.VALUE_LOCK, CommandCondition.locked(true), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Unlocks the default ZelloWork app UI.
 	 *
@@ -680,6 +1344,26 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>unlock()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @return A handle that completes when the app state shows the app unlocked.
+	 * @see #unlock()
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginUnlock() {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_LOCK);
+		}
+		sdk.unlock();
+		return commands.track(Constants.VALUE_LOCK, CommandCondition.locked(false), CommandTracker.TIMEOUT);
+	}
+
 	//endregion
 
 	//region Status
@@ -700,6 +1384,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setStatus()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param status The status to set.
+	 * @return A handle that completes when the app state shows the new status.
+	 * @see #setStatus(Status)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetStatus(@NonNull Status status) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SET_STATUS);
+		}
+		sdk.setStatus(status);
+		return commands.track(Constants.VALUE_SET_STATUS, CommandCondition.status(status), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Sets the current user's custom status message text.
 	 *
@@ -715,6 +1420,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setStatusMessage()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param message The custom message text to display in user's status.
+	 * @return A handle that completes when the app state shows the new status message.
+	 * @see #setStatusMessage(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetStatusMessage(@Nullable String message) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SET_STATUS);
+		}
+		sdk.setStatusMessage(message);
+		return commands.track(Constants.VALUE_SET_STATUS, CommandCondition.statusMessage(message), CommandTracker.TIMEOUT);
+	}
+
 	//endregion
 
 	//region Opening ZelloWork app
@@ -832,6 +1558,88 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Returns the statistics of commands sent to the ZelloWork app.
+	 * <p>
+	 * Commands are sent straight to the connected ZelloWork app, over the binder of its service when the app supports it
+	 * and as broadcasts addressed to its package otherwise.
+	 * </p>
+	 *
+	 * @return Statistics since the SDK connected to the current ZelloWork app.
+	 */
+	public @NonNull CommandStats getCommandStats() {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		return sdk != null ? sdk.getCommandStats() : new CommandStats();
+	}
+
+	/**
+	 * Returns the queueing delay statistics of an event lane.
+	 * <p>
+	 * Message state broadcasts are received on a high priority thread and handled on the UI thread ahead of the
+	 * contact list and Bluetooth accessory updates that are waiting there. The delay is the time from receiving
+	 * an event to handling it. Compare the delays of the lanes to see how long events wait before they are handled.
+	 * </p>
+	 *
+	 * @param lane The lane.
+	 * @return Statistics since the SDK was configured.
+	 */
+	public @NonNull EventLaneStats getEventLaneStats(@NonNull EventLane lane) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		return sdk != null ? sdk.getEventLaneStats(lane) : new EventLaneStats();
+	}
+
+	/**
+	 * Returns the number of app state notifications that were not delivered to listeners.
+	 * <p>
+	 * Several state changes made in a row, for example while connecting or reconnecting to the ZelloWork app,
+	 * result in a single <code>onAppStateChanged()</code> call with the final state. Notifications that don't change
+	 * any field of the state are not delivered at all. Both kinds are counted.
+	 * </p>
+	 *
+	 * @return The number of suppressed notifications since the SDK was configured.
+	 * @see Events#onAppStateChanged()
+	 */
+	public long getSuppressedAppStateChangeCount() {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		return sdk != null ? sdk.getSuppressedAppStateChangeCount() : 0;
+	}
+
+	/**
+	 * <p>
+	 *     Returns the recent events recorded in the SDK event journal.
+	 * </p>
+	 * <p>
+	 *     The SDK keeps the last few hundred state broadcasts received from the ZelloWork app and commands sent to it,
+	 *     with the time of each. Use the journal to diagnose problems such as a message that didn't go out
+	 *     without switching to a debug build. The journal is kept for the lifetime of the process.
+	 * </p>
+	 *
+	 * @param durationMs Age of the oldest event to return, in milliseconds. Pass a negative value to return all recorded events.
+	 * @return The events in the order they were recorded.
+	 * @see JournalEventType
+	 */
+	public @NonNull List<JournalEntry> getJournal(long durationMs) {
+		return journal.get(durationMs);
+	}
+
+	/**
+	 * Returns the recent events recorded in the SDK event journal as text, one event per line.
+	 *
+	 * @param durationMs Age of the oldest event to return, in milliseconds. Pass a negative value to return all recorded events.
+	 * @return The events in the order they were recorded.
+	 * @see #getJournal(long)
+	 */
+	public @NonNull String dumpJournal(long durationMs) {
+		StringBuilder sb = new StringBuilder();
+		for (JournalEntry entry : journal.get(durationMs)) {
+			sb.append(entry).append('\n');
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Gets the list of users and channels in the contact list of the current user.
 	 * <p>
@@ -897,6 +1705,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setAutoRun()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param enable The boolean to enable this feature or not. By default, this value is true.
+	 * @return A handle that completes when the change takes effect.
+	 * @see #setAutoRun(boolean)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetAutoRun(boolean enable) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SET_AUTO_RUN);
+		}
+		sdk.setAutoRun(enable);
+		return commands.track(Constants.VALUE_SET_AUTO_RUN, CommandCondition.autoRun(enable), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Specifies whether newly added channels should connect automatically.
 	 * <p>
@@ -924,6 +1753,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setAutoConnectChannels()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param connect Enables autoconnect.
+	 * @return A handle that completes when the change takes effect.
+	 * @see #setAutoConnectChannels(boolean)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetAutoConnectChannels(boolean connect) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SET_AUTO_CHANNELS);
+		}
+		sdk.setAutoConnectChannels(connect);
+		return commands.track(Constants.VALUE_SET_AUTO_CHANNELS, CommandCondition.autoConnectChannels(connect), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Sets an optional external id tag used by ZelloWork Server Recording.
 	 * <p>
@@ -946,6 +1796,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setExternalId()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param id Nullable; String indicating the external id.
+	 * @return A handle that completes when the change takes effect.
+	 * @see #setExternalId(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetExternalId(@Nullable String id) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SET_EID);
+		}
+		sdk.setExternalId(id);
+		return commands.track(Constants.VALUE_SET_EID, CommandCondition.externalId(id), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Selects a contact (user or channel) to send messages to.
 	 * <p>
@@ -969,6 +1840,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setSelectedContact()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param contact Nullable; a contact to select. A null value deselects the current contact.
+	 * @return A handle that completes when the contact is selected.
+	 * @see #setSelectedContact(Contact)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetSelectedContact(@Nullable Contact contact) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SELECT_CONTACT);
+		}
+		sdk.setSelectedContact(contact);
+		return commands.track(Constants.VALUE_SELECT_CONTACT, CommandCondition.selectedContact(contact != null ? contact.getName() : null, contact != null && CommandCondition.isChannel(contact.getType())), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Selects a contact (user or gateway) to send messages to.
 	 * <p>
@@ -991,6 +1883,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setSelectedUserOrGateway()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param name Nullable; The name of the user or gateway to select. A null value deselects the current contact.
+	 * @return A handle that completes when the contact is selected.
+	 * @see #setSelectedUserOrGateway(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetSelectedUserOrGateway(@Nullable String name) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SELECT_CONTACT);
+		}
+		sdk.setSelectedUserOrGateway(name);
+		return commands.track(Constants.VALUE_SELECT_CONTACT, CommandCondition.selectedContact(name, false), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Selects a contact (channel or group) to send messages to.
 	 * <p>
@@ -1012,6 +1925,27 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Same as <code>setSelectedChannelOrGroup()</code>, and returns a handle to track the result.
+	 * <p>
+	 * Instead of polling the state, use the returned handle to learn when the command has taken effect.
+	 * </p>
+	 *
+	 * @param name Nullable; The name of the channel or group or contact to select. A null value deselects the current contact.
+	 * @return A handle that completes when the contact is selected.
+	 * @see #setSelectedChannelOrGroup(String)
+	 * @see CommandHandle
+	 */
+	public @NonNull CommandHandle beginSetSelectedChannelOrGroup(@Nullable String name) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return CommandHandle.failed(Constants.VALUE_SELECT_CONTACT);
+		}
+		sdk.setSelectedChannelOrGroup(name);
+		return commands.track(Constants.VALUE_SELECT_CONTACT, CommandCondition.selectedContact(name, true), CommandTracker.TIMEOUT);
+	}
+
 	/**
 	 * Asks the host app to suppress UI notifications when Bluetooth PTT buttons connect or disconnect.
 	 * <p>
@@ -1028,6 +1962,83 @@ public class Zello {
 		}
 	}
 
+	/**
+	 * Specifies whether the contact list should be queried on a background thread.
+	 * <p>
+	 * By default the contact list is read from the ZelloWork app lazily, on the thread that first calls
+	 * {@link Contacts#getCount()}, {@link Contacts#getItem(int)} or {@link Contacts#getSnapshot()} after a change.
+	 * When background queries are enabled, the SDK rereads the list on a dedicated thread every time it changes and
+	 * delivers the result to <code>ContactsSnapshotListener</code> subscribers on the UI thread. <code>Contacts</code>
+	 * getters never block in this mode and return the most recently published snapshot.
+	 * </p>
+	 * <p>
+	 * Background queries are also required for <code>ContactsDiffListener</code> subscribers to receive changes.
+	 * </p>
+	 *
+	 * @param enable Enables background queries. By default, this value is false.
+	 * @see #subscribeToContactsSnapshots(ContactsSnapshotListener)
+	 * @see #subscribeToContactsDiffs(ContactsDiffListener)
+	 * @see ContactsSnapshotListener
+	 */
+	public void setContactsBackgroundQuery(boolean enable) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk != null) {
+			sdk.setContactsBackgroundQuery(enable);
+		}
+	}
+
+	/**
+	 * Configures coalescing of contact list change notifications.
+	 * <p>
+	 * The ZelloWork app notifies the SDK about every change in the contact list, which can amount to hundreds
+	 * of notifications per second when many users change their status at once. With coalescing enabled, a burst
+	 * of notifications results in a single <code>onContactsChanged()</code> call made once no new notifications
+	 * arrived for <code>windowMs</code>, or once the first notification in the burst has been held back for
+	 * <code>maxLatencyMs</code>, whichever comes first.
+	 * </p>
+	 * <p>
+	 * Values between 100 and 250 ms are a good choice for the window on large contact lists.
+	 * </p>
+	 *
+	 * @param windowMs Coalescing window in milliseconds. Pass <code>0</code> to deliver every notification immediately (the default).
+	 * @param maxLatencyMs Maximum delay of a notification in milliseconds. Pass <code>0</code> to use <code>windowMs</code>.
+	 * @see Contacts#getChangeNotificationCount()
+	 * @see Contacts#getMergedChangeNotificationCount()
+	 * @see Events#onContactsChanged()
+	 */
+	public void setContactsCoalescing(long windowMs, long maxLatencyMs) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk != null) {
+			sdk.setContactsCoalescing(windowMs, maxLatencyMs);
+		}
+	}
+
+	/**
+	 * Specifies which columns and which contacts are read from the ZelloWork app.
+	 * <p>
+	 * By default, every column of every contact is transferred from the ZelloWork app each time the contact list changes.
+	 * Use this method to request only the data that the app needs, for example names, types and statuses of
+	 * online channels for a compact channel picker. The SDK asks the ZelloWork app to apply the filters and
+	 * falls back to filtering on its own if the app doesn't support it.
+	 * </p>
+	 * <p>
+	 * Changing the query causes the contact list to be read again and <code>onContactsChanged()</code> to be called.
+	 * </p>
+	 *
+	 * @param query Columns and filters to apply. Pass <code>null</code> to read all columns of all contacts (the default).
+	 * @see ContactsQuery
+	 * @see Events#onContactsChanged()
+	 */
+	public void setContactsQuery(@Nullable ContactsQuery query) {
+		checkConfiguration();
+		Sdk sdk = _sdk;
+		if (sdk != null) {
+			sdk.setContactsQuery(query);
+		}
+	}
+
 	//endregion
 
 	//endregion
@@ -1051,13 +2062,77 @@ public class Zello {
 		leavePowerSavingMode();
 	}
 
+	private void addEvents(@NonNull Events event) {
+		selectedContactListeners.add(event);
+		messageStateListeners.add(event);
+		appStateListeners.add(event);
+		lastContactsTabListeners.add(event);
+		contactsListeners.add(event);
+		audioStateListeners.add(event);
+		microphonePermissionListeners.add(event);
+		bluetoothAccessoryListeners.add(event);
+	}
+
+	/**
+	 * Move an <code>Events</code> handler that is subscribed on the UI thread to an executor.
+	 */
+	void quarantineEvents(@NonNull Events event, @NonNull Executor executor, int queueSize) {
+		if (selectedContactListeners.remove(event) == null) {
+			// Unsubscribed in the meantime
+			return;
+		}
+		messageStateListeners.remove(event);
+		appStateListeners.remove(event);
+		lastContactsTabListeners.remove(event);
+		contactsListeners.remove(event);
+		audioStateListeners.remove(event);
+		microphonePermissionListeners.remove(event);
+		bluetoothAccessoryListeners.remove(event);
+		addEvents(new ExecutorEvents(event, executor, queueSize, EventsOverflowPolicy.CONFLATE));
+	}
+
+	private void replayEvents(@NonNull Events event) {
+		Sdk sdk = _sdk;
+		if (sdk == null) {
+			return;
+		}
+		event.onAppStateChanged();
+		event.onMessageStateChanged();
+		event.onSelectedContactChanged();
+		if (sdk.hasAudio()) {
+			event.onAudioStateChanged();
+		}
+	}
+
 	private synchronized void doUnconfigure() {
 		Sdk sdk = _sdk;
 		if (sdk != null) {
 			sdk.onDestroy();
 		}
 		_sdk = null;
-		events.clear();
+		for (SelectedContactListener listener : selectedContactListeners.get()) {
+			if (listener instanceof ListenerWrapper) {
+				((ListenerWrapper) listener).close();
+			}
+		}
+		selectedContactListeners.clear();
+		messageStateListeners.clear();
+		appStateListeners.clear();
+		appStateChangeListeners.clear();
+		lastContactsTabListeners.clear();
+		contactsListeners.clear();
+		audioStateListeners.clear();
+		microphonePermissionListeners.clear();
+		bluetoothAccessoryListeners.clear();
+		contactsSnapshotListeners.clear();
+		contactsDiffListeners.clear();
+		appStatePublisher.clear();
+		messageInPublisher.clear();
+		messageOutPublisher.clear();
+		selectedContactPublisher.clear();
+		audioModePublisher.clear();
+		contactsPublisher.clear();
+		commands.cancelAll();
 
 		_configured = false;
 	}
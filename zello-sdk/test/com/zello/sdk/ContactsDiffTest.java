@@ -0,0 +1,91 @@
+package com.zello.sdk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContactsDiffTest {
+
+	@Test
+	public void sameSnapshotsHaveNoChanges() {
+		ContactsSnapshot snapshot = snapshot(TestCursor.user("a"), TestCursor.user("b"));
+		assertTrue(ContactsDiff.compute(snapshot, snapshot(TestCursor.user("a"), TestCursor.user("b"))).isEmpty());
+	}
+
+	@Test
+	public void reportsRemovedInsertedAndChangedContacts() {
+		ContactsDiff diff = ContactsDiff.compute(
+				snapshot(TestCursor.user("a"), TestCursor.user("b"), TestCursor.channel("c", 3)),
+				snapshot(TestCursor.user("a"), TestCursor.channel("c", 4), TestCursor.user("d")));
+		assertEquals(1, diff.getRemovedCount());
+		assertEquals(1, diff.getRemovedPosition(0));
+		assertEquals(1, diff.getInsertedCount());
+		assertEquals(2, diff.getInsertedPosition(0));
+		assertEquals(0, diff.getMovedCount());
+		assertEquals(1, diff.getChangedCount());
+		assertEquals(1, diff.getChangedPosition(0));
+		assertEquals(ContactsDiff.FIELD_USERS_COUNT, diff.getChangedFields(0));
+	}
+
+	@Test
+	public void matchesContactsByNameAndType() {
+		ContactsDiff diff = ContactsDiff.compute(
+				snapshot(TestCursor.user("support")),
+				snapshot(TestCursor.channel("support", 0)));
+		assertEquals(1, diff.getRemovedCount());
+		assertEquals(1, diff.getInsertedCount());
+		assertEquals(0, diff.getChangedCount());
+	}
+
+	@Test
+	public void reportsOnlyContactsOutOfOrderAsMoved() {
+		// "e" moves from the end to the front; the others keep their relative order
+		ContactsDiff diff = ContactsDiff.compute(
+				snapshot(TestCursor.user("a"), TestCursor.user("b"), TestCursor.user("c"), TestCursor.user("d"), TestCursor.user("e")),
+				snapshot(TestCursor.user("e"), TestCursor.user("a"), TestCursor.user("b"), TestCursor.user("c"), TestCursor.user("d")));
+		assertEquals(0, diff.getRemovedCount());
+		assertEquals(0, diff.getInsertedCount());
+		assertEquals(1, diff.getMovedCount());
+		assertEquals(4, diff.getMovedFromPosition(0));
+		assertEquals(0, diff.getMovedToPosition(0));
+	}
+
+	@Test
+	public void reportsMinimalMovesForReversedList() {
+		Object[][] rows = new Object[100][];
+		Object[][] reversed = new Object[rows.length][];
+		for (int i = 0; i < rows.length; ++i) {
+			rows[i] = TestCursor.user("User" + i);
+			reversed[rows.length - 1 - i] = rows[i];
+		}
+		ContactsDiff diff = ContactsDiff.compute(snapshot(rows), snapshot(reversed));
+		// Only one contact can keep its place
+		assertEquals(rows.length - 1, diff.getMovedCount());
+		for (int i = 0; i < diff.getMovedCount(); ++i) {
+			assertEquals(rows.length - 1 - diff.getMovedToPosition(i), diff.getMovedFromPosition(i));
+		}
+	}
+
+	@Test
+	public void reportsMovedContactsOnlyOnce() {
+		ContactsDiff diff = ContactsDiff.compute(
+				snapshot(TestCursor.user("a"), TestCursor.user("b"), TestCursor.user("c"), TestCursor.user("d")),
+				snapshot(TestCursor.user("d"), TestCursor.user("a"), TestCursor.row("c", TestCursor.USER, 1, 0, false), TestCursor.user("e")));
+		assertEquals(1, diff.getRemovedCount());
+		assertEquals(1, diff.getRemovedPosition(0));
+		assertEquals(1, diff.getInsertedCount());
+		assertEquals(3, diff.getInsertedPosition(0));
+		assertEquals(1, diff.getMovedCount());
+		assertEquals(3, diff.getMovedFromPosition(0));
+		assertEquals(0, diff.getMovedToPosition(0));
+		assertEquals(1, diff.getChangedCount());
+		assertEquals(2, diff.getChangedPosition(0));
+		assertEquals(ContactsDiff.FIELD_STATUS, diff.getChangedFields(0));
+	}
+
+	private static ContactsSnapshot snapshot(Object[]... rows) {
+		return ContactsSnapshot.fromCursor(TestCursor.create(rows));
+	}
+
+}
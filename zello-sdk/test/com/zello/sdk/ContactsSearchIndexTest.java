@@ -0,0 +1,66 @@
+package com.zello.sdk;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ContactsSearchIndexTest {
+
+	private static final String[] _names = {"alice smith", "Bob Jones", "Carol Smithers", "dave", "Eve Blacksmith"};
+
+	@Test
+	public void returnsWordPrefixMatchesFirst() {
+		ContactsSnapshot snapshot = snapshot(_names);
+		assertArrayEquals(new int[]{0, 2, 4}, snapshot.search("smi", 10));
+		assertArrayEquals(new int[]{0}, snapshot.search("SMITH", 1));
+	}
+
+	@Test
+	public void findsSubstrings() {
+		ContactsSnapshot snapshot = snapshot(_names);
+		assertArrayEquals(new int[]{4}, snapshot.search("acksm", 10));
+		assertArrayEquals(new int[]{3}, snapshot.search("av", 10));
+	}
+
+	@Test
+	public void findsNothingForMissingOrEmptyQueries() {
+		ContactsSnapshot snapshot = snapshot(_names);
+		assertEquals(0, snapshot.search("xyz", 10).length);
+		assertEquals(0, snapshot.search("", 10).length);
+		assertEquals(0, snapshot.search(null, 10).length);
+		assertEquals(0, snapshot.search("smi", 0).length);
+	}
+
+	@Test
+	public void inheritedIndexMatchesFreshIndex() {
+		String[] names = new String[2000];
+		for (int i = 0; i < names.length; ++i) {
+			names[i] = "User Number" + i;
+		}
+		ContactsSnapshot previous = snapshot(names);
+		previous.search("u", 1);
+		// Rename two contacts and remove the first one
+		names[5] = "Zed Renamed";
+		names[7] = "User Number7 x";
+		String[] updated = Arrays.copyOfRange(names, 1, names.length);
+		ContactsSnapshot inherited = snapshot(updated);
+		inherited.inheritSearchIndex(previous);
+		ContactsSnapshot fresh = snapshot(updated);
+		for (String query : new String[]{"zed", "ren", "user number7", "r7 x", "ber19", "u", "nomatch"}) {
+			assertArrayEquals(query, fresh.search(query, names.length), inherited.search(query, names.length));
+		}
+		assertArrayEquals(new int[]{4}, inherited.search("zed", 5));
+	}
+
+	private static ContactsSnapshot snapshot(String[] names) {
+		Object[][] rows = new Object[names.length][];
+		for (int i = 0; i < names.length; ++i) {
+			rows[i] = TestCursor.user(names[i]);
+		}
+		return ContactsSnapshot.fromCursor(TestCursor.create(rows));
+	}
+
+}
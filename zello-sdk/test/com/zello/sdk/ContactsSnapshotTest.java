@@ -0,0 +1,71 @@
+package com.zello.sdk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContactsSnapshotTest {
+
+	@Test
+	public void readsAllColumns() {
+		ContactsSnapshot snapshot = ContactsSnapshot.fromCursor(TestCursor.create(
+				TestCursor.user("alice"),
+				TestCursor.row("dispatch", TestCursor.CHANNEL, 2, 5, true)));
+		assertEquals(2, snapshot.getCount());
+		assertEquals("alice", snapshot.getName(0));
+		assertEquals(ContactType.USER, snapshot.getType(0));
+		assertTrue(snapshot.getNoDisconnect(0));
+		assertEquals(ContactType.CHANNEL, snapshot.getType(1));
+		assertEquals(ContactStatus.AVAILABLE, snapshot.getStatus(1));
+		assertEquals(5, snapshot.getUsersCount(1));
+		assertTrue(snapshot.getMuted(1));
+		assertFalse(snapshot.getNoDisconnect(1));
+	}
+
+	@Test
+	public void findsEveryContactByNameAndType() {
+		Object[][] rows = new Object[5000][];
+		for (int i = 0; i < rows.length; ++i) {
+			rows[i] = TestCursor.row("Contact" + i, i % 3 == 0 ? TestCursor.CHANNEL : TestCursor.USER, 0, 0, false);
+		}
+		ContactsSnapshot snapshot = ContactsSnapshot.fromCursor(TestCursor.create(rows));
+		for (int i = 0; i < rows.length; ++i) {
+			ContactType type = i % 3 == 0 ? ContactType.CHANNEL : ContactType.USER;
+			ContactType other = type == ContactType.USER ? ContactType.CHANNEL : ContactType.USER;
+			assertEquals(i, snapshot.indexOf("Contact" + i, type));
+			assertEquals(i, snapshot.indexOfIgnoreCase("cONTACT" + i, type));
+			assertEquals(-1, snapshot.indexOf("contact" + i, type));
+			assertEquals(-1, snapshot.indexOf("Contact" + i, other));
+		}
+		assertEquals(-1, snapshot.indexOf("nobody", ContactType.USER));
+		assertEquals(-1, snapshot.indexOf(null, ContactType.USER));
+	}
+
+	@Test
+	public void findsContactsWithTheSameNameAndDifferentTypes() {
+		ContactsSnapshot snapshot = ContactsSnapshot.fromCursor(TestCursor.create(
+				TestCursor.user("support"),
+				TestCursor.channel("support", 0)));
+		assertEquals(0, snapshot.indexOf("support", ContactType.USER));
+		assertEquals(1, snapshot.indexOf("support", ContactType.CHANNEL));
+	}
+
+	@Test
+	public void emptySnapshotFindsNothing() {
+		assertEquals(0, ContactsSnapshot.empty().getCount());
+		assertEquals(-1, ContactsSnapshot.empty().indexOf("alice", ContactType.USER));
+		assertEquals(0, ContactsSnapshot.fromCursor(null).getCount());
+	}
+
+	@Test
+	public void readsPages() {
+		ContactsSnapshot page = ContactsSnapshot.pageFromCursor(TestCursor.create(
+				TestCursor.user("a"), TestCursor.user("b"), TestCursor.user("c"), TestCursor.user("d"), TestCursor.user("e")), 3, 10);
+		assertEquals(2, page.getCount());
+		assertEquals("d", page.getName(0));
+		assertEquals("e", page.getName(1));
+	}
+
+}
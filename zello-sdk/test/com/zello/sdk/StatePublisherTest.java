@@ -0,0 +1,108 @@
+package com.zello.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatePublisherTest {
+
+	@Test
+	public void deliversOnlyRequestedValues() {
+		StatePublisher<Integer> publisher = new StatePublisher<>();
+		publisher.publish(1);
+		Recorder recorder = new Recorder(1);
+		publisher.subscribe(recorder, 3, EventsOverflowPolicy.DROP_OLDEST);
+		publisher.publish(2);
+		publisher.publish(3);
+		publisher.publish(4);
+		publisher.publish(5);
+		assertEquals(Arrays.asList(1), recorder.values);
+		recorder.subscription.request(10);
+		assertEquals(Arrays.asList(1, 3, 4, 5), recorder.values);
+		publisher.publish(6);
+		recorder.subscription.cancel();
+		publisher.publish(7);
+		assertEquals(Arrays.asList(1, 3, 4, 5, 6), recorder.values);
+	}
+
+	@Test
+	public void conflateKeepsLatestValue() {
+		StatePublisher<Integer> publisher = new StatePublisher<>();
+		Recorder recorder = new Recorder(0);
+		publisher.subscribe(recorder, 5, EventsOverflowPolicy.CONFLATE);
+		publisher.publish(1);
+		publisher.publish(2);
+		publisher.publish(3);
+		recorder.subscription.request(1);
+		publisher.publish(4);
+		assertEquals(Arrays.asList(3), recorder.values);
+		recorder.subscription.request(1);
+		assertEquals(Arrays.asList(3, 4), recorder.values);
+	}
+
+	@Test
+	public void requestFromCallbackDeliversInOrder() {
+		StatePublisher<Integer> publisher = new StatePublisher<>();
+		final List<Integer> values = new ArrayList<>();
+		publisher.subscribe(new StateSubscriber<Integer>() {
+			private StateSubscription _subscription;
+
+			@Override
+			public void onSubscribe(StateSubscription subscription) {
+				_subscription = subscription;
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(Integer value) {
+				values.add(value);
+				_subscription.request(1);
+			}
+		});
+		publisher.publish(1);
+		publisher.publish(2);
+		publisher.publish(3);
+		assertEquals(Arrays.asList(1, 2, 3), values);
+	}
+
+	@Test
+	public void clearCancelsSubscriptions() {
+		StatePublisher<Integer> publisher = new StatePublisher<>();
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		publisher.subscribe(recorder);
+		publisher.publish(1);
+		publisher.clear();
+		publisher.publish(2);
+		assertEquals(Arrays.asList(1), recorder.values);
+	}
+
+	private static class Recorder implements StateSubscriber<Integer> {
+
+		final List<Integer> values = new ArrayList<>();
+		final long initialDemand;
+		StateSubscription subscription;
+
+		Recorder(long initialDemand) {
+			this.initialDemand = initialDemand;
+		}
+
+		@Override
+		public void onSubscribe(StateSubscription subscription) {
+			this.subscription = subscription;
+			if (initialDemand > 0) {
+				subscription.request(initialDemand);
+			}
+		}
+
+		@Override
+		public void onNext(Integer value) {
+			values.add(value);
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.zello.sdk;
+
+import android.database.Cursor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * In-memory contacts cursor for unit tests.
+ * Implemented as a proxy so that it doesn't depend on the version of the <code>Cursor</code> interface.
+ */
+class TestCursor implements InvocationHandler {
+
+	static final int USER = 0;
+	static final int CHANNEL = 1;
+
+	private static final String[] _columns = {"name", "fullname", "displayname", "statusmessage", "type", "status", "userscount", "userstotal", "title", "muted", "nodisconnect"};
+
+	private final Object[][] _rows;
+	private int _position = -1;
+
+	private TestCursor(Object[][] rows) {
+		_rows = rows;
+	}
+
+	static Cursor create(Object[]... rows) {
+		return (Cursor) Proxy.newProxyInstance(Cursor.class.getClassLoader(), new Class<?>[]{Cursor.class}, new TestCursor(rows));
+	}
+
+	static Object[] user(String name) {
+		return row(name, USER, 0, 0, false);
+	}
+
+	static Object[] channel(String name, int usersCount) {
+		return row(name, CHANNEL, 2, usersCount, false);
+	}
+
+	static Object[] row(String name, int type, int status, int usersCount, boolean muted) {
+		return new Object[]{name, name + " full", name, "", type, status, usersCount, usersCount, "", muted ? 1 : 0, 0};
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+			case "getCount":
+				return _rows.length;
+			case "getPosition":
+				return _position;
+			case "moveToPosition":
+				return moveTo((Integer) args[0]);
+			case "moveToFirst":
+				return moveTo(0);
+			case "moveToNext":
+				return moveTo(_position + 1);
+			case "getColumnIndex":
+				for (int i = 0; i < _columns.length; ++i) {
+					if (_columns[i].equals(args[0])) {
+						return i;
+					}
+				}
+				return -1;
+			case "getColumnNames":
+				return _columns.clone();
+			case "getColumnCount":
+				return _columns.length;
+			case "isNull":
+				return _rows[_position][(Integer) args[0]] == null;
+			case "getString":
+				return (String) _rows[_position][(Integer) args[0]];
+			case "getInt":
+				return (Integer) _rows[_position][(Integer) args[0]];
+			case "getLong":
+				return ((Integer) _rows[_position][(Integer) args[0]]).longValue();
+			case "isClosed":
+				return false;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+		}
+		Class<?> type = method.getReturnType();
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+
+	private boolean moveTo(int position) {
+		_position = Math.max(-1, Math.min(position, _rows.length));
+		return position >= 0 && position < _rows.length;
+	}
+
+}